@@ -2,28 +2,46 @@ package pl.catchex;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.catchex.bootstrap.PathProvider;
+import pl.catchex.bootstrap.StartupTimer;
 import pl.catchex.common.DateParser;
 import pl.catchex.config.AppConfiguration;
-import pl.catchex.frequency.TaskFrequencyService;
+import pl.catchex.config.ConfigurationService;
+import pl.catchex.config.cache.InMemoryConfigCache;
+import pl.catchex.config.reader.ReaderConfiguration;
+import pl.catchex.config.reload.ConfigurationReloader;
+import pl.catchex.config.source.FileConfigLoader;
+import pl.catchex.config.reader.taskConfiguration.SymbolConfiguration;
+import pl.catchex.config.reader.taskConfiguration.TaskConfiguration;
+import pl.catchex.config.reader.watcher.DebounceMode;
+import pl.catchex.config.reader.watcher.WatcherBackend;
+import pl.catchex.config.reader.watcher.WatcherConfiguration;
 import pl.catchex.model.TaskRepository;
 import pl.catchex.reader.PriorityParser;
 import pl.catchex.reader.TaskReader;
 import pl.catchex.reader.lineparser.TaskLineParserDispatcher;
+import pl.catchex.reminder.ReminderComponents;
 import pl.catchex.reminder.TaskReminderService;
 import pl.catchex.synchonizer.TaskRepositorySynchronizer;
+import pl.catchex.filewatcher.CoalescingDebounceCondition;
+import pl.catchex.filewatcher.FileMonitor;
 import pl.catchex.filewatcher.FileWatcher;
 import pl.catchex.filewatcher.DebounceCondition;
+import pl.catchex.filewatcher.NotificationCondition;
+import pl.catchex.filewatcher.PollingFileWatcher;
+import pl.catchex.tray.AsyncNotificationDispatcher;
 import pl.catchex.tray.NotificationSender;
 import pl.catchex.tray.TrayService;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
 /**
  * Non-static application assembler that builds and runs the application components.
@@ -31,21 +49,35 @@ import java.util.concurrent.ThreadFactory;
  * <p>This class is responsible for composing the application's main components
  * (parsers, reader, synchronizer, file watcher) and running the application
  * lifecycle (start, wait for shutdown, stop).</p>
+ *
+ * <p>When a {@link PathProvider} is given, the configuration file is watched as well and a
+ * changed configuration is applied to the running components (see
+ * {@link #applyConfiguration(AppConfiguration, AppConfiguration)}).</p>
  */
 public class ApplicationAssembler {
 
     private static final Logger logger = LoggerFactory.getLogger(ApplicationAssembler.class);
 
+    private static final long DEFAULT_QUIET_PERIOD_MS = 250;
+    private static final long DEFAULT_MAX_WAIT_MS = 2000;
+
     private final CountDownLatch shutdownLatch;
     private final AppConfiguration config;
     private final NotificationSender notificationSender;
+    private final PathProvider pathProvider; // may be null, then the configuration is not reloaded
+    private final ConfigurationService configurationService; // may be null, then a new one is used for reloading
+    private final Supplier<ReminderComponents> reminderComponents; // may be null, then created from the configuration
 
-    private FileWatcher tasksFileWatcher;
+    private FileMonitor tasksFileWatcher;
+    private FileMonitor configFileWatcher;
+
+    private TaskReader taskReader;
 
     private TaskRepository repository;
     private TaskRepositorySynchronizer synchronizer;
 
     private TaskReminderService reminderService;
+    private AsyncNotificationDispatcher notificationDispatcher;
     private ScheduledExecutorService reminderExecutor;
     private final TrayService createdTrayService;
     private final pl.catchex.lifecycle.ApplicationStopperFactory applicationStopperFactory;
@@ -64,7 +96,33 @@ public class ApplicationAssembler {
      * inject a custom factory producing mock or instrumented stoppers.
      */
     public ApplicationAssembler(AppConfiguration config, NotificationSender notificationSender, TrayService createdTrayService, pl.catchex.lifecycle.ApplicationStopperFactory applicationStopperFactory) {
+        this(config, notificationSender, createdTrayService, applicationStopperFactory, null);
+    }
+
+    /**
+     * Constructor that additionally enables hot reload of the configuration file.
+     *
+     * @param pathProvider provider of the configuration file watched for changes (may be null to disable reloading)
+     */
+    public ApplicationAssembler(AppConfiguration config, NotificationSender notificationSender, TrayService createdTrayService, pl.catchex.lifecycle.ApplicationStopperFactory applicationStopperFactory, PathProvider pathProvider) {
+        this(config, notificationSender, createdTrayService, applicationStopperFactory, pathProvider, null, null);
+    }
+
+    /**
+     * Constructor that takes the configuration service and the reminder components from the
+     * injector, so a reload starts from the configuration cached at startup and the reminder
+     * instances it hands out are the ones started and stopped by this assembler.
+     *
+     * @param configurationService service that loaded {@code config} (may be null to reload through a new one)
+     * @param reminderComponents   supplier of the reminder components, called once when the components
+     *                             are created (may be null to create them from the configuration)
+     */
+    public ApplicationAssembler(AppConfiguration config, NotificationSender notificationSender, TrayService createdTrayService, pl.catchex.lifecycle.ApplicationStopperFactory applicationStopperFactory, PathProvider pathProvider,
+                                ConfigurationService configurationService, Supplier<ReminderComponents> reminderComponents) {
         this.config = config;
+        this.configurationService = configurationService;
+        this.reminderComponents = reminderComponents;
+        this.pathProvider = pathProvider;
         this.notificationSender = notificationSender;
         this.createdTrayService = createdTrayService;
         this.shutdownLatch = new CountDownLatch(1);
@@ -83,18 +141,14 @@ public class ApplicationAssembler {
         registerShutdownHook();
 
         try {
-            TaskLineParserDispatcher dispatcher = createDispatcher();
+            StartupTimer timer = new StartupTimer();
             Path tasksFile = Paths.get(config.getConfiguration().getTasksFilePath());
-
-            TaskReader taskReader = createTaskReader(dispatcher, tasksFile);
-            synchronizer = createSynchronizer(taskReader);
-
-            this.reminderExecutor = createReminderExecutor();
-            this.reminderService = createReminderService(this.reminderExecutor, this.notificationSender);
-            this.repository.addListener(this.reminderService);
-            synchronizer.synchronizeRepository();
+            timer.time("components", () -> createComponents(tasksFile));
+            timer.time("initialSync", synchronizer::synchronizeRepository);
+            timer.logBreakdown("first reminders scheduled");
 
             startWatcher(tasksFile, synchronizer);
+            startConfigWatcher();
 
             awaitShutdown();
 
@@ -106,6 +160,20 @@ public class ApplicationAssembler {
         }
     }
 
+    void createComponents(Path tasksFile) {
+        TaskLineParserDispatcher dispatcher = createDispatcher(config.getConfiguration().getTaskConfiguration());
+        this.taskReader = createTaskReader(dispatcher, tasksFile);
+        this.synchronizer = createSynchronizer(taskReader);
+
+        ReminderComponents reminders = reminderComponents != null
+                ? reminderComponents.get()
+                : ReminderComponents.create(config.getConfiguration().getReminderConfiguration(), this.notificationSender);
+        this.reminderExecutor = reminders.executor();
+        this.notificationDispatcher = reminders.notificationDispatcher();
+        this.reminderService = reminders.reminderService();
+        this.repository.addListener(this.reminderService);
+    }
+
     private void registerShutdownHook() {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("Shutdown signal received -> TOstDO application closing procedure initiation");
@@ -121,18 +189,15 @@ public class ApplicationAssembler {
         }
     }
 
-    private TaskLineParserDispatcher createDispatcher() {
-        PriorityParser priorityParser = new PriorityParser(
-                config.getConfiguration().getTaskConfiguration().getPriority().getSymbol()
-        );
-        DateParser dateParser = new DateParser(
-                config.getConfiguration().getTaskConfiguration().getDateFormat()
-        );
+    private TaskLineParserDispatcher createDispatcher(TaskConfiguration taskConfiguration) {
+        PriorityParser priorityParser = new PriorityParser(taskConfiguration.getPriority().getSymbol());
+        DateParser dateParser = new DateParser(taskConfiguration.getDateFormat());
         return new TaskLineParserDispatcher(priorityParser, dateParser);
     }
 
     private TaskReader createTaskReader(TaskLineParserDispatcher dispatcher, Path tasksFile) {
-        return new TaskReader(dispatcher, tasksFile);
+        TaskConfiguration taskConfiguration = config.getConfiguration().getTaskConfiguration();
+        return new TaskReader(dispatcher, tasksFile, taskConfiguration.getReadMode(), taskConfiguration.getParallelThresholdBytes());
     }
 
     private TaskRepositorySynchronizer createSynchronizer(TaskReader taskReader) {
@@ -141,28 +206,132 @@ public class ApplicationAssembler {
         return this.synchronizer;
     }
 
-    private ScheduledExecutorService createReminderExecutor() {
-        ThreadFactory factory = runnable -> {
-            Thread t = new Thread(runnable);
-            t.setDaemon(true);
-            t.setName("tostdo-reminder-executor");
-            return t;
-        };
-        return Executors.newSingleThreadScheduledExecutor(factory);
+    private void startWatcher(Path tasksFile, TaskRepositorySynchronizer synchronizer) throws IOException {
+        this.tasksFileWatcher = createFileMonitor(tasksFile);
+        this.tasksFileWatcher.addListener(synchronizer);
+        this.tasksFileWatcher.start();
     }
 
-    private TaskReminderService createReminderService(ScheduledExecutorService executor, NotificationSender notificationSender) {
-        TaskFrequencyService frequencyService = new TaskFrequencyService(
-                Clock.systemDefaultZone(),
-                config.getConfiguration().getReminderConfiguration()
+    private void startConfigWatcher() {
+        Path configPath = pathProvider == null ? null : pathProvider.getConfigPath();
+        if (configPath == null || !Files.exists(configPath)) {
+            logger.info("Configuration file not watched, changes require a restart [ path={} ]", configPath);
+            return;
+        }
+        // cached by file version, so events that leave the file unchanged are not parsed; the service
+        // that loaded the startup configuration already holds it, a new one parses the first event
+        ConfigurationService service = configurationService != null
+                ? configurationService
+                : new ConfigurationService(new InMemoryConfigCache(), new FileConfigLoader(pathProvider));
+        ConfigurationReloader reloader = new ConfigurationReloader(
+                service::getAppConfiguration, config, this::applyConfiguration
         );
-        return new TaskReminderService(frequencyService, executor, notificationSender);
+        try {
+            this.configFileWatcher = createFileMonitor(configPath);
+            this.configFileWatcher.addListener(reloader);
+            this.configFileWatcher.start();
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Cannot watch configuration file, changes require a restart [ path={}, message={} ]", configPath, e.getMessage());
+        }
     }
 
-    private void startWatcher(Path tasksFile, TaskRepositorySynchronizer synchronizer) throws IOException {
-        this.tasksFileWatcher = new FileWatcher(tasksFile, new DebounceCondition(250));
-        this.tasksFileWatcher.addListener(synchronizer);
-        this.tasksFileWatcher.start();
+    /**
+     * Apply a reloaded, validated configuration to the running components without
+     * dropping the repository. New parsers are built before anything is replaced, so
+     * a failure leaves the previous configuration in effect. Reminder intervals are
+     * recomputed in place; the tasks file is parsed again only when the date format
+     * or the priority symbols changed. Watcher settings only take effect after a restart.
+     */
+    void applyConfiguration(AppConfiguration previous, AppConfiguration current) {
+        ReaderConfiguration before = previous.getConfiguration();
+        ReaderConfiguration after = current.getConfiguration();
+        TaskConfiguration taskBefore = before.getTaskConfiguration();
+        TaskConfiguration taskAfter = after.getTaskConfiguration();
+
+        boolean parsingChanged = !ParsingSettings.of(taskBefore).equals(ParsingSettings.of(taskAfter));
+        TaskLineParserDispatcher dispatcher = parsingChanged ? createDispatcher(taskAfter) : null;
+
+        if (!Objects.equals(before.getTasksFilePath(), after.getTasksFilePath())
+                || taskBefore.getReadMode() != taskAfter.getReadMode()
+                || taskBefore.getParallelThresholdBytes() != taskAfter.getParallelThresholdBytes()) {
+            logger.warn("Tasks file path and read mode changes take effect after a restart");
+        }
+        if (!WatcherSettings.of(before.getWatcherConfiguration()).equals(WatcherSettings.of(after.getWatcherConfiguration()))) {
+            logger.warn("Watcher changes (debounce, backend, polling) take effect after a restart");
+        }
+
+        reminderService.reconfigure(after.getReminderConfiguration());
+        if (dispatcher != null) {
+            taskReader.replaceParser(dispatcher);
+            synchronizer.resynchronize();
+        }
+        logger.info("Configuration applied [ parsingChanged={} ]", parsingChanged);
+    }
+
+    /**
+     * Create the monitor of a file with the configured backend. In AUTO mode files on
+     * network or remote FUSE file systems are polled, as is any file whose kernel watch cannot
+     * be registered; files listed in pollingPaths are always polled.
+     */
+    FileMonitor createFileMonitor(Path file) throws IOException {
+        WatcherConfiguration watcherConfiguration = config.getConfiguration().getWatcherConfiguration();
+        WatcherBackend backend = WatcherBackend.AUTO;
+        long pollMinIntervalMs = PollingFileWatcher.DEFAULT_MIN_INTERVAL_MS;
+        long pollMaxIntervalMs = PollingFileWatcher.DEFAULT_MAX_INTERVAL_MS;
+        if (watcherConfiguration != null) {
+            if (watcherConfiguration.getBackend() != null) backend = watcherConfiguration.getBackend();
+            if (watcherConfiguration.getPollMinIntervalMs() > 0) pollMinIntervalMs = watcherConfiguration.getPollMinIntervalMs();
+            if (watcherConfiguration.getPollMaxIntervalMs() > 0) pollMaxIntervalMs = watcherConfiguration.getPollMaxIntervalMs();
+            if (isListed(file, watcherConfiguration.getPollingPaths())) backend = WatcherBackend.POLLING;
+        }
+        if (backend == WatcherBackend.AUTO && PollingFileWatcher.isRecommendedFor(file)) {
+            backend = WatcherBackend.POLLING;
+        }
+
+        NotificationCondition condition = createNotificationCondition();
+        if (backend != WatcherBackend.POLLING) {
+            try {
+                FileMonitor monitor = new FileWatcher(file, condition);
+                logger.info("File watcher backend [ file={}, backend=NATIVE ]", file);
+                return monitor;
+            } catch (IOException e) {
+                if (backend == WatcherBackend.NATIVE) {
+                    condition.close();
+                    throw e;
+                }
+                logger.warn("Kernel watch unavailable, polling instead [ file={}, message={} ]", file, e.getMessage());
+            }
+        }
+        logger.info("File watcher backend [ file={}, backend=POLLING, minIntervalMs={}, maxIntervalMs={} ]",
+                file, pollMinIntervalMs, pollMaxIntervalMs);
+        return new PollingFileWatcher(file, condition, pollMinIntervalMs, pollMaxIntervalMs);
+    }
+
+    private static boolean isListed(Path file, List<String> paths) {
+        if (paths == null) {
+            return false;
+        }
+        Path normalized = file.toAbsolutePath().normalize();
+        return paths.stream()
+                .filter(Objects::nonNull)
+                .anyMatch(path -> Paths.get(path).toAbsolutePath().normalize().equals(normalized));
+    }
+
+    private NotificationCondition createNotificationCondition() {
+        WatcherConfiguration watcherConfiguration = config.getConfiguration().getWatcherConfiguration();
+        DebounceMode mode = DebounceMode.TRAILING;
+        long quietPeriodMs = DEFAULT_QUIET_PERIOD_MS;
+        long maxWaitMs = DEFAULT_MAX_WAIT_MS;
+        if (watcherConfiguration != null) {
+            if (watcherConfiguration.getDebounce() != null) mode = watcherConfiguration.getDebounce();
+            if (watcherConfiguration.getQuietPeriodMs() > 0) quietPeriodMs = watcherConfiguration.getQuietPeriodMs();
+            if (watcherConfiguration.getMaxWaitMs() > 0) maxWaitMs = watcherConfiguration.getMaxWaitMs();
+        }
+        logger.info("File watcher debounce [ mode={}, quietPeriodMs={}, maxWaitMs={} ]", mode, quietPeriodMs, maxWaitMs);
+        return switch (mode) {
+            case LEADING -> new DebounceCondition(quietPeriodMs);
+            case TRAILING -> new CoalescingDebounceCondition(quietPeriodMs, maxWaitMs);
+        };
     }
 
     private void awaitShutdown() {
@@ -181,6 +350,12 @@ public class ApplicationAssembler {
      * @throws IOException when closing the file watcher fails
      */
     public void stop() throws IOException {
+        // no reload may reach components that are being stopped
+        if (this.configFileWatcher != null) {
+            this.configFileWatcher.stop();
+            this.configFileWatcher = null;
+        }
+
         // create an ApplicationStopper via the factory and stop components
         pl.catchex.lifecycle.ApplicationStopper stopper = this.applicationStopperFactory.create(
                 this.tasksFileWatcher,
@@ -192,11 +367,35 @@ public class ApplicationAssembler {
 
         stopper.stop();
 
+        if (this.notificationDispatcher != null) {
+            this.notificationDispatcher.close();
+            this.notificationDispatcher = null;
+        }
+
         // clear references to allow GC and signal shutdown
         this.synchronizer = null;
+        this.taskReader = null;
         this.reminderService = null;
         this.repository = null;
 
         shutdownLatch.countDown();
     }
+
+    private record ParsingSettings(String dateFormat, String low, String medium, String high) {
+        static ParsingSettings of(TaskConfiguration taskConfiguration) {
+            SymbolConfiguration symbol = taskConfiguration.getPriority().getSymbol();
+            return new ParsingSettings(taskConfiguration.getDateFormat(), symbol.getLow(), symbol.getMedium(), symbol.getHigh());
+        }
+    }
+
+    private record WatcherSettings(DebounceMode debounce, long quietPeriodMs, long maxWaitMs, WatcherBackend backend,
+                                   List<String> pollingPaths, long pollMinIntervalMs, long pollMaxIntervalMs) {
+        static WatcherSettings of(WatcherConfiguration watcher) {
+            if (watcher == null) {
+                return new WatcherSettings(null, 0, 0, null, null, 0, 0);
+            }
+            return new WatcherSettings(watcher.getDebounce(), watcher.getQuietPeriodMs(), watcher.getMaxWaitMs(), watcher.getBackend(),
+                    watcher.getPollingPaths(), watcher.getPollMinIntervalMs(), watcher.getPollMaxIntervalMs());
+        }
+    }
 }
@@ -6,42 +6,85 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.catchex.bootstrap.AppDirectoryInitializer;
 import pl.catchex.bootstrap.ApplicationBootstrap;
+import pl.catchex.bootstrap.FilePrefetcher;
+import pl.catchex.bootstrap.StartupTimer;
 import pl.catchex.config.AppConfiguration;
 import pl.catchex.config.ConfigurationService;
-import pl.catchex.config.cache.ConfigCache;
-import pl.catchex.config.cache.InMemoryConfigCache;
-import pl.catchex.config.source.ConfigSource;
-import pl.catchex.config.source.FileConfigLoader;
 import pl.catchex.di.AppModule;
-import pl.catchex.di.BootstrapModule;
 import pl.catchex.tray.NotificationSenderFactory;
 
+import java.nio.file.Paths;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Application entry point.
+ *
+ * <p>Startup runs independent phases concurrently: the system tray is created while the
+ * application directory is initialized, the configuration is parsed and the tasks file is
+ * prefetched. A single injector is built up front; components depending on the
+ * configuration or the tray are created only once those phases finished.</p>
+ */
 public class TOstDOApplication {
 
     private static final Logger logger = LoggerFactory.getLogger(TOstDOApplication.class);
 
     public static void main(String[] args) {
         logger.info("TOstDO application starting...");
+        StartupTimer timer = new StartupTimer();
 
-        Injector bootstrapInjector = Guice.createInjector(new BootstrapModule());
+        Optional<AppConfiguration> appConfiguration;
+        Injector injector;
+        NotificationSenderFactory.Provider trayProvider;
+        try (ExecutorService startup = Executors.newVirtualThreadPerTaskExecutor()) {
+            // the tray needs neither the application directory nor the configuration
+            CompletableFuture<NotificationSenderFactory.Provider> tray = CompletableFuture.supplyAsync(
+                    () -> timer.time("tray", NotificationSenderFactory::createDefaultTrayService), startup);
+
+            CompletableFuture<AppConfiguration> configuration = new CompletableFuture<>();
+            injector = timer.time("injector", () -> Guice.createInjector(new AppModule(configuration::join, tray::join)));
+
+            CompletableFuture<Optional<AppConfiguration>> loaded = CompletableFuture
+                    .runAsync(() -> timer.time("directory", () -> initializeAppDirectory(injector)), startup)
+                    .thenApply(ignored -> timer.time("config", () -> loadConfiguration(injector)));
+            CompletableFuture<Void> prefetch = loaded.thenAcceptAsync(config -> config.ifPresent(c ->
+                    timer.time("prefetch", () -> FilePrefetcher.prefetch(Paths.get(c.getConfiguration().getTasksFilePath())))
+            ), startup).exceptionally(e -> {
+                // an unusable path is reported by the application itself
+                logger.debug("Tasks file not prefetched [ message={} ]", e.getMessage());
+                return null;
+            });
+
+            appConfiguration = loaded.join();
+            appConfiguration.ifPresent(configuration::complete);
+            trayProvider = tray.join();
+            prefetch.join();
+        }
+
+        if (appConfiguration.isEmpty()) {
+            logger.error("Configuration not loaded");
+            if (trayProvider.getTrayService() != null) {
+                trayProvider.getTrayService().stop();
+            }
+            return;
+        }
+        logger.info("Configuration  loaded");
+        ApplicationBootstrap bootstrap = timer.time("assembly", () -> injector.getInstance(ApplicationBootstrap.class));
+        timer.logBreakdown("bootstrap ready");
+        bootstrap.run();
+    }
+
+    private static void initializeAppDirectory(Injector injector) {
         try {
-            bootstrapInjector.getInstance(AppDirectoryInitializer.class).perform();
+            injector.getInstance(AppDirectoryInitializer.class).perform();
         } catch (Exception e) {
             logger.warn("Failed to run bootstrap initializer: {}", e.getMessage());
         }
+    }
 
-        ConfigCache configCache = new InMemoryConfigCache();
-        ConfigSource configSource = new FileConfigLoader();
-
-        ConfigurationService configurationService = new ConfigurationService(configCache, configSource);
-        Optional<AppConfiguration> appConfiguration = configurationService.getAppConfiguration();
-
-        appConfiguration.ifPresentOrElse(config -> {
-            logger.info("Configuration  loaded");
-            Injector injector = Guice.createInjector(new AppModule(config, NotificationSenderFactory.createDefaultTrayService()));
-            injector.getInstance(ApplicationBootstrap.class).run();
-        }, () -> logger.error("Configuration not loaded"));
+    private static Optional<AppConfiguration> loadConfiguration(Injector injector) {
+        return injector.getInstance(ConfigurationService.class).getAppConfiguration();
     }
 }
@@ -0,0 +1,47 @@
+package pl.catchex.bootstrap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file once and discards its content so that it is in the operating system's
+ * page cache by the time it is parsed. Used to overlap the I/O of the first tasks file
+ * read with other startup work.
+ */
+public final class FilePrefetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilePrefetcher.class);
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private FilePrefetcher() {
+        // util
+    }
+
+    /**
+     * @param path file to prefetch
+     * @return number of bytes read, or -1 when the file cannot be read (the failure is only logged,
+     * it will be reported again by the actual read)
+     */
+    public static long prefetch(Path path) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long total = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                total += read;
+                buffer.clear();
+            }
+            return total;
+        } catch (IOException e) {
+            logger.debug("Cannot prefetch [ path={}, message={} ]", path, e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package pl.catchex.bootstrap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the duration of named startup phases and logs them as a single breakdown
+ * line. Phases may run concurrently, so their durations do not have to add up to the
+ * total. This class is thread-safe.
+ */
+public class StartupTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+
+    private final long startNanos = System.nanoTime();
+    // guarded by this, in order of completion
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+    /**
+     * Run the phase on the calling thread and record its duration.
+     *
+     * @param phase  phase name used in the breakdown
+     * @param action work of the phase
+     * @return result of the action
+     */
+    public <T> T time(String phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, start);
+        }
+    }
+
+    /**
+     * Run the phase on the calling thread and record its duration.
+     *
+     * @param phase  phase name used in the breakdown
+     * @param action work of the phase
+     */
+    public void time(String phase, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(phase, start);
+        }
+    }
+
+    /**
+     * Log the duration of every phase recorded so far, the time elapsed since this timer
+     * was created and, when the platform reports it, since the process was started.
+     *
+     * @param milestone what has been reached, e.g. "first reminders scheduled"
+     */
+    public void logBreakdown(String milestone) {
+        StringJoiner phases = new StringJoiner(", ");
+        synchronized (this) {
+            phaseMillis.forEach((phase, millis) -> phases.add(phase + "=" + millis + "ms"));
+        }
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        String sinceProcessStart = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis() + "ms")
+                .orElse("n/a");
+        logger.info("Startup timing [ milestone={}, totalMs={}, sinceProcessStart={}, phases={{}} ]",
+                milestone, totalMillis, sinceProcessStart, phases);
+    }
+
+    private void record(String phase, long startNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        synchronized (this) {
+            phaseMillis.put(phase, millis);
+        }
+        logger.debug("Startup phase finished [ phase={}, ms={} ]", phase, millis);
+    }
+}
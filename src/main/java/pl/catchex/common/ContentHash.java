@@ -0,0 +1,65 @@
+package pl.catchex.common;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 64-bit FNV-1a hash used to fingerprint file content and single lines.
+ *
+ * <p>The hash can be computed in one call or streamed with {@link #update(long, byte[], int, int)}
+ * starting from {@link #INITIAL}. It is fast and well distributed, but not cryptographic.</p>
+ */
+public final class ContentHash {
+
+    public static final long INITIAL = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private ContentHash() {
+        // utility class
+    }
+
+    /**
+     * Continue a streaming hash with the given bytes.
+     *
+     * @param hash   hash of the preceding content (or {@link #INITIAL})
+     * @param bytes  source array
+     * @param offset index of the first byte to hash
+     * @param length number of bytes to hash
+     * @return hash covering the preceding content and the given bytes
+     */
+    public static long update(long hash, byte[] bytes, int offset, int length) {
+        long h = hash;
+        for (int i = offset; i < offset + length; i++) {
+            h ^= bytes[i] & 0xff;
+            h *= PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * Hash the bytes in {@code [from, to)} of the buffer without changing its position.
+     */
+    public static long of(ByteBuffer buffer, int from, int to) {
+        long h = INITIAL;
+        for (int i = from; i < to; i++) {
+            h ^= buffer.get(i) & 0xff;
+            h *= PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * Hash the UTF-16 code units of the given text.
+     */
+    public static long of(CharSequence text) {
+        long h = INITIAL;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            h ^= c & 0xff;
+            h *= PRIME;
+            h ^= c >>> 8;
+            h *= PRIME;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,69 @@
+package pl.catchex.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Cheap identity of a file's content: its {@link FileStamp} and a streaming 64-bit
+ * {@link ContentHash} of its bytes.
+ *
+ * <p>Hashing reads the whole file, so {@link #of(Path, FileFingerprint)} reuses the hash
+ * of a previous fingerprint when the stamp shows the file is unchanged since (see
+ * {@link FileStamp#unchangedSince(FileStamp)}).</p>
+ *
+ * @param stamp attributes of the file when it was hashed
+ * @param hash  hash of the whole file content
+ */
+public record FileFingerprint(FileStamp stamp, long hash) {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Compute the fingerprint of a file by streaming its content once.
+     *
+     * @param path file to fingerprint
+     * @return fingerprint of the current file content
+     * @throws IOException when the file cannot be read
+     */
+    public static FileFingerprint of(Path path) throws IOException {
+        return of(path, null);
+    }
+
+    /**
+     * Compute the fingerprint of a file, reusing the hash of {@code previous} without reading
+     * the content when the file attributes show it was not modified since.
+     *
+     * @param path     file to fingerprint
+     * @param previous fingerprint previously taken of the same path (may be null)
+     * @return fingerprint of the current file content
+     * @throws IOException when the file cannot be read
+     */
+    public static FileFingerprint of(Path path, FileFingerprint previous) throws IOException {
+        FileStamp stamp = FileStamp.of(path);
+        if (previous != null && stamp.unchangedSince(previous.stamp)) {
+            return previous;
+        }
+        long hash = ContentHash.INITIAL;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                hash = ContentHash.update(hash, buffer, 0, read);
+            }
+        }
+        return new FileFingerprint(stamp, hash);
+    }
+
+    /**
+     * Whether both fingerprints describe byte-identical content. The modification time
+     * is ignored on purpose: touching a file or saving it twice does not change its content.
+     *
+     * @param other fingerprint to compare with (may be null)
+     * @return true if size and hash are equal
+     */
+    public boolean sameContentAs(FileFingerprint other) {
+        return other != null && stamp.size() == other.stamp.size() && hash == other.hash;
+    }
+}
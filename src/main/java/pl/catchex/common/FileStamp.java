@@ -0,0 +1,60 @@
+package pl.catchex.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * Cheap identity of a file version taken from its attributes only: a rewrite changes the
+ * size or modification time, an atomic rename save changes the file key.
+ *
+ * <p>Modification times are coarse on some file systems (1-2 s on ext3, HFS+, FAT and
+ * many NFS/SMB mounts), so two writes of the same length within one timestamp leave the
+ * attributes unchanged. Like git's "racily clean" rule, a stamp taken less than
+ * {@value #MODIFICATION_TIME_GRANULARITY_MS} ms after the modification time does not prove
+ * that the file is unchanged later on (see {@link #unchangedSince(FileStamp)}).</p>
+ *
+ * @param size               file size in bytes
+ * @param lastModifiedMillis last modification time in milliseconds since the epoch
+ * @param fileKey            file system key of the file (e.g. device and inode), may be null
+ * @param takenAtMillis      time the attributes were read in milliseconds since the epoch
+ */
+public record FileStamp(long size, long lastModifiedMillis, Object fileKey, long takenAtMillis) {
+
+    static final long MODIFICATION_TIME_GRANULARITY_MS = 2000;
+
+    /**
+     * @param file file to stamp
+     * @return the current stamp of the file
+     * @throws IOException when the attributes cannot be read
+     */
+    public static FileStamp of(Path file) throws IOException {
+        long takenAtMillis = System.currentTimeMillis();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis(), attributes.fileKey(), takenAtMillis);
+    }
+
+    /**
+     * @param other stamp to compare with (may be null)
+     * @return true if size, modification time and file key are equal
+     */
+    public boolean sameAttributesAs(FileStamp other) {
+        return other != null && size == other.size && lastModifiedMillis == other.lastModifiedMillis
+                && Objects.equals(fileKey, other.fileKey);
+    }
+
+    /**
+     * Whether the file is known not to have changed since {@code previous} was taken: the
+     * attributes are equal and {@code previous} was taken outside the timestamp granularity
+     * of its modification, so a later write would have changed the modification time.
+     *
+     * @param previous stamp previously taken of the same path (may be null)
+     * @return true if the content described by {@code previous} can be reused
+     */
+    public boolean unchangedSince(FileStamp previous) {
+        return sameAttributesAs(previous)
+                && previous.takenAtMillis - previous.lastModifiedMillis >= MODIFICATION_TIME_GRANULARITY_MS;
+    }
+}
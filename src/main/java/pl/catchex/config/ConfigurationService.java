@@ -1,10 +1,25 @@
 package pl.catchex.config;
 
+import pl.catchex.common.FileFingerprint;
+import pl.catchex.config.cache.CachedConfiguration;
 import pl.catchex.config.cache.ConfigCache;
 import pl.catchex.config.source.ConfigSource;
 
 import java.util.Optional;
 
+/**
+ * Serves the application configuration, loading it from the {@link ConfigSource} only
+ * when the cached one is missing or outdated.
+ *
+ * <p>Every call compares the version of the source (a {@link FileFingerprint} of the
+ * configuration file) with the version the cached configuration was loaded from, so an
+ * unchanged file is never parsed again. The content is only hashed when the file attributes
+ * do not prove it unchanged, e.g. after a touch or a save within the timestamp granularity
+ * of the previous one (see {@link pl.catchex.common.FileStamp#unchangedSince}); a touched
+ * file with the same content keeps the cached configuration. The cached configuration is a shared
+ * snapshot: it is published atomically together with its version and must not be
+ * modified by callers.</p>
+ */
 public class ConfigurationService {
     
     private final ConfigCache configCache;
@@ -17,7 +32,24 @@ public class ConfigurationService {
     }
 
     public Optional<AppConfiguration> getAppConfiguration(){
-        return configCache.getAppConfiguration()//
-                .or(configSource::loadAppConfiguration);
+        // the version is taken before loading: a change in between only causes one more load later
+        Optional<CachedConfiguration> cached = configCache.getCachedConfiguration();
+        Optional<FileFingerprint> version = configSource.currentVersion(cached.map(CachedConfiguration::version).orElse(null));
+        if (cached.isPresent() && isCurrent(cached.get(), version)) {
+            if (version.isPresent() && version.get() != cached.get().version()) {
+                // same content, remember the new attributes so the next check is a single stat again
+                configCache.setCachedConfiguration(new CachedConfiguration(cached.get().configuration(), version.get()));
+            }
+            return Optional.of(cached.get().configuration());
+        }
+
+        Optional<AppConfiguration> loaded = configSource.loadAppConfiguration();
+        loaded.ifPresent(configuration ->
+                configCache.setCachedConfiguration(new CachedConfiguration(configuration, version.orElse(null))));
+        return loaded;
+    }
+
+    private static boolean isCurrent(CachedConfiguration cached, Optional<FileFingerprint> version) {
+        return version.isEmpty() || version.get().sameContentAs(cached.version());
     }
 }
@@ -0,0 +1,15 @@
+package pl.catchex.config.cache;
+
+import pl.catchex.config.AppConfiguration;
+import pl.catchex.common.FileFingerprint;
+
+/**
+ * Configuration snapshot together with the version of the source it was loaded from.
+ * Both are published as one value, so a reader never pairs a configuration with the
+ * version of another one. The configuration is shared and must not be modified.
+ *
+ * @param configuration loaded configuration
+ * @param version       version of the source at load time (may be null when unknown)
+ */
+public record CachedConfiguration(AppConfiguration configuration, FileFingerprint version) {
+}
@@ -5,7 +5,11 @@ import pl.catchex.config.AppConfiguration;
 import java.util.Optional;
 
 public interface ConfigCache {
-    Optional<AppConfiguration> getAppConfiguration();
+    Optional<CachedConfiguration> getCachedConfiguration();
 
-    void setAppConfiguration(AppConfiguration appConfiguration);
+    void setCachedConfiguration(CachedConfiguration cachedConfiguration);
+
+    default Optional<AppConfiguration> getAppConfiguration() {
+        return getCachedConfiguration().map(CachedConfiguration::configuration);
+    }
 }
@@ -1,7 +1,5 @@
 package pl.catchex.config.cache;
 
-import pl.catchex.config.AppConfiguration;
-
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,14 +8,15 @@ public class InMemoryConfigCache implements ConfigCache {
 
     private static final Logger logger = LoggerFactory.getLogger(InMemoryConfigCache.class);
 
-    private AppConfiguration cachedAppConfiguration;
+    // volatile: the cache is read by the reload thread and written by the main thread
+    private volatile CachedConfiguration cachedConfiguration;
 
-    public void setAppConfiguration(AppConfiguration appConfiguration){
-        logger.info("New app configuration saving");
-        cachedAppConfiguration = appConfiguration;
+    public void setCachedConfiguration(CachedConfiguration cachedConfiguration){
+        logger.info("New app configuration saving [ version={} ]", cachedConfiguration.version());
+        this.cachedConfiguration = cachedConfiguration;
     }
 
-    public Optional<AppConfiguration> getAppConfiguration(){
-        return Optional.ofNullable(cachedAppConfiguration);
+    public Optional<CachedConfiguration> getCachedConfiguration(){
+        return Optional.ofNullable(cachedConfiguration);
     }
 }
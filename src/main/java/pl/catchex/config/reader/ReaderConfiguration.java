@@ -2,10 +2,12 @@ package pl.catchex.config.reader;
 
 import pl.catchex.config.reader.reminder.ReminderConfiguration;
 import pl.catchex.config.reader.taskConfiguration.TaskConfiguration;
+import pl.catchex.config.reader.watcher.WatcherConfiguration;
 
 public class ReaderConfiguration {
     private TaskConfiguration taskConfiguration;
     private ReminderConfiguration reminderConfiguration;
+    private WatcherConfiguration watcherConfiguration;
     private String tasksFilePath;
 
     public ReaderConfiguration() {
@@ -35,4 +37,12 @@ public class ReaderConfiguration {
     public ReminderConfiguration getReminderConfiguration(){
         return reminderConfiguration;
     }
+
+    public void setWatcher(WatcherConfiguration watcherConfiguration){
+        this.watcherConfiguration = watcherConfiguration;
+    }
+
+    public WatcherConfiguration getWatcherConfiguration(){
+        return watcherConfiguration;
+    }
 }
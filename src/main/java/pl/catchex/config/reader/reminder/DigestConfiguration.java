@@ -0,0 +1,26 @@
+package pl.catchex.config.reader.reminder;
+
+public class DigestConfiguration {
+    private long windowMs;
+    private int maxEntries;
+
+    public DigestConfiguration() {
+        // public comment required by snakeyaml
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -4,6 +4,7 @@ public class ReminderConfiguration {
     private PeriodFactorConfiguration periodFactor;
     private PeriodThresholdConfiguration periodThreshold;
     private BaseIntervalConfiguration baseIntervalMinutes;
+    private DigestConfiguration digest;
 
     public ReminderConfiguration() {
         // public comment required by snakeyaml
@@ -28,4 +29,8 @@ public class ReminderConfiguration {
     public BaseIntervalConfiguration getBaseIntervalMinutes() { return baseIntervalMinutes; }
 
     public void setBaseIntervalMinutes(BaseIntervalConfiguration baseIntervalMinutes) { this.baseIntervalMinutes = baseIntervalMinutes; }
+
+    public DigestConfiguration getDigest() { return digest; }
+
+    public void setDigest(DigestConfiguration digest) { this.digest = digest; }
 }
@@ -0,0 +1,22 @@
+package pl.catchex.config.reader.taskConfiguration;
+
+/**
+ * Strategy used by the task reader to load the tasks file.
+ */
+public enum ReadMode {
+    /**
+     * Decode the file in bounded chunks and parse it line by line.
+     */
+    STREAMING,
+    /**
+     * Memory-map the file and detect task lines on raw UTF-8 bytes; only task lines are decoded.
+     * Note that some platforms (notably Windows) keep a mapped file locked until the mapping is
+     * garbage collected.
+     */
+    MAPPED,
+    /**
+     * Like {@link #MAPPED}, but files above the configured size threshold are split on line
+     * boundaries and the chunks are parsed in parallel on a fork-join pool.
+     */
+    PARALLEL
+}
@@ -3,6 +3,8 @@ package pl.catchex.config.reader.taskConfiguration;
 public class TaskConfiguration {
     private String dateFormat;
     private PriorityConfiguration priorityConfiguration;
+    private ReadMode readMode;
+    private long parallelThresholdBytes;
 
     public TaskConfiguration() {
         // public comment required by snakeyaml
@@ -16,6 +18,16 @@ public class TaskConfiguration {
         this.priorityConfiguration = priorityConfiguration;
     }
 
+    public void setReadMode(ReadMode readMode) {
+        this.readMode = readMode;
+    }
+
+    public void setParallelThresholdBytes(long parallelThresholdBytes) {
+        this.parallelThresholdBytes = parallelThresholdBytes;
+    }
+
     public String getDateFormat() { return dateFormat; }
     public PriorityConfiguration getPriority() { return priorityConfiguration; }
+    public ReadMode getReadMode() { return readMode; }
+    public long getParallelThresholdBytes() { return parallelThresholdBytes; }
 }
@@ -0,0 +1,15 @@
+package pl.catchex.config.reader.watcher;
+
+/**
+ * How bursts of file events are turned into notifications.
+ */
+public enum DebounceMode {
+    /**
+     * Notify on the first event and drop every event during the quiet period.
+     */
+    LEADING,
+    /**
+     * Notify once, a quiet period after the last event of a burst (bounded by a maximum wait).
+     */
+    TRAILING
+}
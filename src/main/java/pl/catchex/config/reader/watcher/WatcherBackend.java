@@ -0,0 +1,19 @@
+package pl.catchex.config.reader.watcher;
+
+/**
+ * How changes of a watched file are detected.
+ */
+public enum WatcherBackend {
+    /**
+     * Poll files on network or FUSE file systems, or when the kernel watch cannot be registered; use kernel watch events otherwise.
+     */
+    AUTO,
+    /**
+     * Always use kernel watch events.
+     */
+    NATIVE,
+    /**
+     * Always poll the size, modification time and file key of the file.
+     */
+    POLLING
+}
@@ -0,0 +1,73 @@
+package pl.catchex.config.reader.watcher;
+
+import java.util.List;
+
+public class WatcherConfiguration {
+    private DebounceMode debounce;
+    private long quietPeriodMs;
+    private long maxWaitMs;
+    private WatcherBackend backend;
+    private List<String> pollingPaths;
+    private long pollMinIntervalMs;
+    private long pollMaxIntervalMs;
+
+    public WatcherConfiguration() {
+        // public comment required by snakeyaml
+    }
+
+    public DebounceMode getDebounce() {
+        return debounce;
+    }
+
+    public void setDebounce(DebounceMode debounce) {
+        this.debounce = debounce;
+    }
+
+    public long getQuietPeriodMs() {
+        return quietPeriodMs;
+    }
+
+    public void setQuietPeriodMs(long quietPeriodMs) {
+        this.quietPeriodMs = quietPeriodMs;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public WatcherBackend getBackend() {
+        return backend;
+    }
+
+    public void setBackend(WatcherBackend backend) {
+        this.backend = backend;
+    }
+
+    public List<String> getPollingPaths() {
+        return pollingPaths;
+    }
+
+    public void setPollingPaths(List<String> pollingPaths) {
+        this.pollingPaths = pollingPaths;
+    }
+
+    public long getPollMinIntervalMs() {
+        return pollMinIntervalMs;
+    }
+
+    public void setPollMinIntervalMs(long pollMinIntervalMs) {
+        this.pollMinIntervalMs = pollMinIntervalMs;
+    }
+
+    public long getPollMaxIntervalMs() {
+        return pollMaxIntervalMs;
+    }
+
+    public void setPollMaxIntervalMs(long pollMaxIntervalMs) {
+        this.pollMaxIntervalMs = pollMaxIntervalMs;
+    }
+}
@@ -0,0 +1,19 @@
+package pl.catchex.config.reload;
+
+import pl.catchex.config.AppConfiguration;
+
+/**
+ * Receives configurations that were reloaded and validated by a {@link ConfigurationReloader}.
+ */
+@FunctionalInterface
+public interface ConfigurationChangeListener {
+
+    /**
+     * Apply the new configuration. Throwing an exception rejects it and the previous
+     * configuration stays current.
+     *
+     * @param previous configuration applied so far
+     * @param current  newly loaded configuration
+     */
+    void onConfigurationChanged(AppConfiguration previous, AppConfiguration current);
+}
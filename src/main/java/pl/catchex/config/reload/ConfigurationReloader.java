@@ -0,0 +1,85 @@
+package pl.catchex.config.reload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.catchex.config.AppConfiguration;
+import pl.catchex.config.source.ConfigSource;
+import pl.catchex.filewatcher.FileChangeListener;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reloads the configuration whenever the configuration file changes. It implements
+ * {@link FileChangeListener} so it may be registered with a
+ * {@link pl.catchex.filewatcher.FileWatcher}.
+ *
+ * <p>A reloaded configuration is validated first and handed to the
+ * {@link ConfigurationChangeListener} only when it is valid. It becomes the current
+ * configuration only after the listener applied it; a configuration that cannot be
+ * loaded, is invalid or is rejected by the listener leaves the running application
+ * untouched. Reloads are serialized.</p>
+ */
+public class ConfigurationReloader implements FileChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationReloader.class);
+
+    private final ConfigSource configSource;
+    private final ConfigurationChangeListener listener;
+
+    private volatile AppConfiguration current;
+
+    /**
+     * @param configSource source the configuration is reloaded from
+     * @param current      configuration the application is running with
+     * @param listener     listener applying reloaded configurations
+     */
+    public ConfigurationReloader(ConfigSource configSource, AppConfiguration current, ConfigurationChangeListener listener) {
+        this.configSource = configSource;
+        this.current = current;
+        this.listener = listener;
+    }
+
+    @Override
+    public void onFileModified(Path filePath) {
+        reload();
+    }
+
+    /**
+     * Load, validate and apply the configuration.
+     *
+     * @return true when a changed configuration was applied
+     */
+    public synchronized boolean reload() {
+        Optional<AppConfiguration> loaded = configSource.loadAppConfiguration();
+        if (loaded.isEmpty()) {
+            logger.warn("Configuration could not be reloaded, keeping the current one");
+            return false;
+        }
+        if (loaded.get() == current) {
+            logger.debug("Configuration file unchanged, nothing to reload");
+            return false;
+        }
+        List<String> problems = ConfigurationValidator.validate(loaded.get());
+        if (!problems.isEmpty()) {
+            logger.warn("Reloaded configuration is invalid, keeping the current one [ problems={} ]", problems);
+            return false;
+        }
+        try {
+            listener.onConfigurationChanged(current, loaded.get());
+        } catch (RuntimeException e) {
+            logger.error("Reloaded configuration could not be applied, keeping the current one [ message={} ]", e.getMessage(), e);
+            return false;
+        }
+        current = loaded.get();
+        logger.info("Configuration reloaded");
+        return true;
+    }
+
+    /**
+     * @return configuration applied most recently
+     */
+    public AppConfiguration getCurrent() {
+        return current;
+    }
+}
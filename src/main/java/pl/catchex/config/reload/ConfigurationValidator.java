@@ -0,0 +1,94 @@
+package pl.catchex.config.reload;
+
+import pl.catchex.config.AppConfiguration;
+import pl.catchex.config.reader.ReaderConfiguration;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.config.reader.taskConfiguration.SymbolConfiguration;
+import pl.catchex.config.reader.taskConfiguration.TaskConfiguration;
+import pl.catchex.frequency.TaskFrequencyService;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks that a loaded configuration can be applied, i.e. that every section the
+ * application relies on is present and holds usable values.
+ */
+public final class ConfigurationValidator {
+
+    private ConfigurationValidator() {
+    }
+
+    /**
+     * @param configuration configuration to check
+     * @return descriptions of the problems found (empty when the configuration is valid)
+     */
+    public static List<String> validate(AppConfiguration configuration) {
+        List<String> problems = new ArrayList<>();
+        ReaderConfiguration reader = configuration == null ? null : configuration.getConfiguration();
+        if (reader == null) {
+            problems.add("configuration section is missing");
+            return problems;
+        }
+        if (reader.getTasksFilePath() == null || reader.getTasksFilePath().isBlank()) {
+            problems.add("tasksFilePath is missing");
+        }
+        validateTaskConfiguration(reader.getTaskConfiguration(), problems);
+        validateReminderConfiguration(reader.getReminderConfiguration(), problems);
+        return problems;
+    }
+
+    private static void validateTaskConfiguration(TaskConfiguration task, List<String> problems) {
+        if (task == null) {
+            problems.add("taskConfiguration section is missing");
+            return;
+        }
+        if (task.getDateFormat() == null) {
+            problems.add("taskConfiguration.dateFormat is missing");
+        } else {
+            try {
+                DateTimeFormatter.ofPattern(task.getDateFormat());
+            } catch (IllegalArgumentException e) {
+                problems.add("taskConfiguration.dateFormat is invalid: " + e.getMessage());
+            }
+        }
+        SymbolConfiguration symbol = task.getPriority() == null ? null : task.getPriority().getSymbol();
+        if (symbol == null) {
+            problems.add("taskConfiguration.priority.symbol section is missing");
+            return;
+        }
+        Set<String> symbols = new HashSet<>();
+        for (String value : new String[]{symbol.getLow(), symbol.getMedium(), symbol.getHigh()}) {
+            if (value == null || value.isBlank()) {
+                problems.add("taskConfiguration.priority.symbol values must not be blank");
+                return;
+            }
+            symbols.add(value);
+        }
+        if (symbols.size() != 3) {
+            problems.add("taskConfiguration.priority.symbol values must be distinct");
+        }
+    }
+
+    private static void validateReminderConfiguration(ReminderConfiguration reminder, List<String> problems) {
+        if (reminder == null) {
+            problems.add("reminder section is missing");
+            return;
+        }
+        if (reminder.getPeriodFactor() == null) {
+            problems.add("reminder.periodFactor section is missing");
+        } else if (reminder.getPeriodFactor().getCritical() <= 0 || reminder.getPeriodFactor().getUrgent() <= 0) {
+            problems.add("reminder.periodFactor values must be positive");
+        }
+        if (reminder.getPeriodThreshold() == null) {
+            problems.add("reminder.periodThreshold section is missing");
+        }
+        if (problems.isEmpty()) {
+            // every interval of the precomputed table must be usable by the scheduler
+            problems.addAll(TaskFrequencyService.validate(reminder));
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package pl.catchex.config.source;
 
+import pl.catchex.common.FileFingerprint;
 import pl.catchex.config.AppConfiguration;
 
 import java.util.Optional;
 
 public interface ConfigSource {
     Optional<AppConfiguration> loadAppConfiguration();
+
+    /**
+     * Cheaply determine the version of the configuration that would be loaded now.
+     *
+     * @param previous version the cached configuration was loaded from (may be null), reused when
+     *                 the source is known to be unchanged since
+     * @return current version, or empty when the source cannot tell (a cached configuration is then kept)
+     */
+    default Optional<FileFingerprint> currentVersion(FileFingerprint previous) {
+        return Optional.empty();
+    }
 }
@@ -1,10 +1,12 @@
 package pl.catchex.config.source;
 
 import org.yaml.snakeyaml.Yaml;
+import pl.catchex.common.FileFingerprint;
 import pl.catchex.config.AppConfiguration;
 import pl.catchex.bootstrap.PathProvider;
 import pl.catchex.bootstrap.DefaultPathProvider;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.Optional;
@@ -42,4 +44,16 @@ public class FileConfigLoader implements ConfigSource {
             return Optional.empty();
         }
     }
+
+    @Override
+    public Optional<FileFingerprint> currentVersion(FileFingerprint previous) {
+        java.nio.file.Path configPath = pathProvider.getConfigPath();
+        try {
+            // a single stat while the attributes prove the file unchanged, the small file is hashed otherwise
+            return Optional.of(FileFingerprint.of(configPath, previous));
+        } catch (IOException e) {
+            logger.debug("Cannot fingerprint config file [ path={}, message={} ]", configPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
 }
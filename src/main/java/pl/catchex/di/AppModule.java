@@ -1,29 +1,28 @@
 package pl.catchex.di;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import pl.catchex.ApplicationAssembler;
 import pl.catchex.config.AppConfiguration;
+import pl.catchex.config.ConfigurationService;
 import pl.catchex.frequency.TaskFrequencyService;
+import pl.catchex.reminder.ReminderComponents;
 import pl.catchex.reminder.TaskReminderService;
 import pl.catchex.tray.NotificationSender;
 import pl.catchex.tray.NotificationSenderFactory;
 import pl.catchex.tray.TrayService;
 import pl.catchex.lifecycle.ApplicationStopperFactory;
 import pl.catchex.lifecycle.DefaultApplicationStopperFactory;
-import pl.catchex.bootstrap.FileSystemService;
-import pl.catchex.bootstrap.RealFileSystemService;
 
-import java.time.Clock;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
 public class AppModule extends AbstractModule {
 
-    private final AppConfiguration config;
-    private final NotificationSenderFactory.Provider trayProvider;
+    private final Supplier<AppConfiguration> config;
+    private final Supplier<NotificationSenderFactory.Provider> trayProvider;
 
     public AppModule(AppConfiguration config) {
         this(config, NotificationSenderFactory.createNoop());
@@ -33,31 +32,46 @@ public class AppModule extends AbstractModule {
      * Constructor that allows providing a custom NotificationSenderFactory.Provider (useful for production to pass a real tray provider).
      */
     public AppModule(AppConfiguration config, NotificationSenderFactory.Provider trayProvider) {
+        this(() -> config, () -> trayProvider);
+    }
+
+    /**
+     * Constructor for a startup in which the configuration and the tray are still being created
+     * while the injector is built. The suppliers are called only when a component depending on
+     * them is first requested, so bootstrap components (see {@link BootstrapModule}) are available
+     * immediately.
+     */
+    public AppModule(Supplier<AppConfiguration> config, Supplier<NotificationSenderFactory.Provider> trayProvider) {
         this.config = config;
-        this.trayProvider = trayProvider == null ? NotificationSenderFactory.createNoop() : trayProvider;
+        this.trayProvider = trayProvider;
     }
 
     @Override
     protected void configure() {
-        // default bindings (if needed) can go here
+        install(new BootstrapModule());
     }
 
+    /**
+     * The reminder components are created once and handed to the {@link ApplicationAssembler},
+     * which stops them on shutdown; the reminder bindings below expose the same instances.
+     */
     @Provides
     @Singleton
-    public ScheduledExecutorService provideReminderExecutor() {
-        ThreadFactory factory = runnable -> {
-            Thread t = new Thread(runnable);
-            t.setDaemon(true);
-            t.setName("tostdo-reminder-executor");
-            return t;
-        };
-        return new ScheduledThreadPoolExecutor(1, factory);
+    public ReminderComponents provideReminderComponents(NotificationSender sender) {
+        return ReminderComponents.create(config.get().getConfiguration().getReminderConfiguration(), sender);
+    }
+
+    @Provides
+    @Singleton
+    public ScheduledExecutorService provideReminderExecutor(ReminderComponents reminders) {
+        return reminders.executor();
     }
 
     @Provides
     @Singleton
     public pl.catchex.tray.NotificationSenderFactory.Provider provideTrayProvider() {
-        return this.trayProvider;
+        NotificationSenderFactory.Provider provider = this.trayProvider.get();
+        return provider == null ? NotificationSenderFactory.createNoop() : provider;
     }
 
     @Provides
@@ -72,14 +86,14 @@ public class AppModule extends AbstractModule {
 
     @Provides
     @Singleton
-    public TaskReminderService provideTaskReminderService(TaskFrequencyService frequencyService, ScheduledExecutorService executor, NotificationSender sender) {
-        return new TaskReminderService(frequencyService, executor, sender);
+    public TaskReminderService provideTaskReminderService(ReminderComponents reminders) {
+        return reminders.reminderService();
     }
 
     @Provides
     @Singleton
-    public TaskFrequencyService provideTaskFrequencyService() {
-        return new TaskFrequencyService(Clock.systemDefaultZone(), config.getConfiguration().getReminderConfiguration());
+    public TaskFrequencyService provideTaskFrequencyService(ReminderComponents reminders) {
+        return reminders.frequencyService();
     }
 
     @Provides
@@ -90,9 +104,9 @@ public class AppModule extends AbstractModule {
 
     @Provides
     @Singleton
-    public ApplicationAssembler provideApplicationAssembler(NotificationSender sender, ApplicationStopperFactory stopperFactory, pl.catchex.tray.NotificationSenderFactory.Provider provider) {
+    public ApplicationAssembler provideApplicationAssembler(NotificationSender sender, ApplicationStopperFactory stopperFactory, pl.catchex.tray.NotificationSenderFactory.Provider provider, pl.catchex.bootstrap.PathProvider pathProvider, ConfigurationService configurationService, Provider<ReminderComponents> reminders) {
         TrayService created = provider.getTrayService();
-        return new ApplicationAssembler(config, sender, created, stopperFactory);
+        return new ApplicationAssembler(config.get(), sender, created, stopperFactory, pathProvider, configurationService, reminders::get);
     }
 
     @Provides
@@ -100,22 +114,4 @@ public class AppModule extends AbstractModule {
     public pl.catchex.bootstrap.ApplicationBootstrap provideApplicationBootstrap(ApplicationAssembler assembler) {
         return new pl.catchex.bootstrap.ApplicationBootstrap(assembler);
     }
-
-    @Provides
-    @Singleton
-    public FileSystemService provideFileSystemService() {
-        return new RealFileSystemService();
-    }
-
-    @Provides
-    @Singleton
-    public pl.catchex.bootstrap.PathProvider providePathProvider(FileSystemService fs) {
-        return new pl.catchex.bootstrap.DefaultPathProvider(fs);
-    }
-
-    @Provides
-    @Singleton
-    public pl.catchex.bootstrap.ConfigCreator provideConfigCreator(FileSystemService fs) {
-        return new pl.catchex.bootstrap.DefaultConfigCreatorImpl(fs);
-    }
 }
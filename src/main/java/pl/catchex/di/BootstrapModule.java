@@ -9,6 +9,9 @@ import pl.catchex.bootstrap.DefaultConfigCreatorImpl;
 import pl.catchex.bootstrap.FileSystemService;
 import pl.catchex.bootstrap.RealFileSystemService;
 import pl.catchex.bootstrap.DefaultPathProvider;
+import pl.catchex.config.ConfigurationService;
+import pl.catchex.config.cache.InMemoryConfigCache;
+import pl.catchex.config.source.FileConfigLoader;
 
 public class BootstrapModule extends AbstractModule {
 
@@ -29,6 +32,16 @@ public class BootstrapModule extends AbstractModule {
         return new DefaultPathProvider(fs);
     }
 
+    /**
+     * Service loading the configuration at startup and on every reload, so the reload starts
+     * from the cached startup configuration and its file version.
+     */
+    @Provides
+    @Singleton
+    public ConfigurationService provideConfigurationService(pl.catchex.bootstrap.PathProvider pathProvider) {
+        return new ConfigurationService(new InMemoryConfigCache(), new FileConfigLoader(pathProvider));
+    }
+
     @Provides
     @Singleton
     public ConfigCreator provideConfigCreator(FileSystemService fs) {
@@ -0,0 +1,123 @@
+package pl.catchex.filewatcher;
+
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A trailing-edge implementation of NotificationCondition. Every event of a burst
+ * is coalesced and a single notification fires once no event arrived for the
+ * quiet period, so the final state of an editor's burst of writes is never lost.
+ * A maximum wait caps how long a burst may postpone the notification, so a
+ * continuous writer is still synchronized periodically.
+ * This class is thread-safe.
+ */
+public class CoalescingDebounceCondition implements NotificationCondition {
+
+    private final long quietPeriodMs;
+    private final long maxWaitMs;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final Clock clock;
+
+    private final Object lock = new Object();
+    private Runnable pendingNotification;
+    private long burstStartedAt;
+    private long lastEventAt;
+    private boolean timerScheduled;
+
+    /**
+     * Creates a coalescing condition with a custom scheduler and clock (useful for tests).
+     *
+     * @param quietPeriodMs time (in milliseconds) without events after which the notification fires
+     * @param maxWaitMs     maximum time (in milliseconds) between the first event of a burst and the notification
+     * @param scheduler     scheduler running the deferred notifications
+     * @param clock         Clock used to obtain current time in milliseconds
+     */
+    public CoalescingDebounceCondition(long quietPeriodMs, long maxWaitMs, ScheduledExecutorService scheduler, Clock clock) {
+        this(quietPeriodMs, maxWaitMs, scheduler, clock, false);
+    }
+
+    /**
+     * Creates a coalescing condition running notifications on its own daemon thread.
+     *
+     * @param quietPeriodMs time (in milliseconds) without events after which the notification fires
+     * @param maxWaitMs     maximum time (in milliseconds) between the first event of a burst and the notification
+     */
+    public CoalescingDebounceCondition(long quietPeriodMs, long maxWaitMs) {
+        this(quietPeriodMs, maxWaitMs, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable);
+            t.setDaemon(true);
+            t.setName("tostdo-debounce");
+            return t;
+        }), Clock.systemUTC(), true);
+    }
+
+    private CoalescingDebounceCondition(long quietPeriodMs, long maxWaitMs, ScheduledExecutorService scheduler, Clock clock, boolean ownsScheduler) {
+        this.quietPeriodMs = quietPeriodMs;
+        this.maxWaitMs = Math.max(maxWaitMs, quietPeriodMs);
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.ownsScheduler = ownsScheduler;
+    }
+
+    /**
+     * A trailing-edge condition never lets a notification through synchronously;
+     * events are delivered through {@link #submit(Runnable)}.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean shouldNotify() {
+        return false;
+    }
+
+    /**
+     * Record an event and (re)arm the trailing-edge timer. Only the latest
+     * notification of a burst is run.
+     *
+     * @param notification action notifying the listeners
+     * @return always true, the notification is scheduled
+     */
+    @Override
+    public boolean submit(Runnable notification) {
+        long now = clock.millis();
+        synchronized (lock) {
+            pendingNotification = notification;
+            lastEventAt = now;
+            if (!timerScheduled) {
+                burstStartedAt = now;
+                timerScheduled = true;
+                scheduler.schedule(this::onTimer, quietPeriodMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        return true;
+    }
+
+    private void onTimer() {
+        Runnable notification;
+        synchronized (lock) {
+            long now = clock.millis();
+            long deadline = Math.min(lastEventAt + quietPeriodMs, burstStartedAt + maxWaitMs);
+            if (now < deadline) {
+                // more events arrived since the timer was armed, wait for the rest of the quiet period
+                scheduler.schedule(this::onTimer, deadline - now, TimeUnit.MILLISECONDS);
+                return;
+            }
+            notification = pendingNotification;
+            pendingNotification = null;
+            timerScheduled = false;
+        }
+        if (notification != null) {
+            notification.run();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -5,4 +5,15 @@ import java.nio.file.Path;
 @FunctionalInterface
 public interface FileChangeListener {
     void onFileModified(Path filePath);
+
+    /**
+     * Called when the watch service dropped events (OVERFLOW), so changes of the file may
+     * have gone unnoticed. The default implementation treats it as a modification;
+     * listeners keeping derived state should rebuild it in full.
+     *
+     * @param filePath path of the watched file or directory, may be null
+     */
+    default void onEventsLost(Path filePath) {
+        onFileModified(filePath);
+    }
 }
@@ -0,0 +1,37 @@
+package pl.catchex.filewatcher;
+
+import java.io.IOException;
+
+/**
+ * Watches a single file and notifies registered {@link FileChangeListener}s when it changes.
+ * Implemented by {@link FileWatcher} (kernel watch events) and {@link PollingFileWatcher}
+ * (for file systems where watch events are unreliable).
+ */
+public interface FileMonitor {
+
+    /**
+     * Start watching the file.
+     */
+    void start();
+
+    /**
+     * Stop watching the file and release the resources of the monitor.
+     *
+     * @throws IOException when releasing the resources fails
+     */
+    void stop() throws IOException;
+
+    /**
+     * Register a listener to be notified when the watched file changes.
+     *
+     * @param listener listener to register
+     */
+    void addListener(FileChangeListener listener);
+
+    /**
+     * Unregister a previously registered listener.
+     *
+     * @param listener listener to unregister
+     */
+    void removeListener(FileChangeListener listener);
+}
@@ -7,7 +7,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.nio.file.*;
-public class FileWatcher {
+public class FileWatcher implements FileMonitor {
     private static final Logger logger = LoggerFactory.getLogger(FileWatcher.class);
 
     private final List<FileChangeListener> listeners = new CopyOnWriteArrayList<>();
@@ -39,6 +39,9 @@ public class FileWatcher {
             this.fileName = fileToWatch.getFileName();
             dirToWatch.register(
                     this.watchService,
+                    // editors saving through a temporary file replace the watched file by a rename
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
                     StandardWatchEventKinds.ENTRY_MODIFY
             );
         } catch (IOException e) {
@@ -52,6 +55,7 @@ public class FileWatcher {
     /**
      * Start the file-watching job in a new virtual thread.
      */
+    @Override
     public void start() {
         logger.info("Starting monitoring job in a new virtual thread...");
         this.workerThread = Thread.ofVirtual().start(this.job);
@@ -62,6 +66,7 @@ public class FileWatcher {
      *
      * @throws IOException when closing the watch service fails
      */
+    @Override
     public void stop() throws IOException {
         logger.info("Stopping file watcher...");
 
@@ -70,6 +75,8 @@ public class FileWatcher {
             watchService.close();
         }
 
+        notificationCondition.close();
+
         // This is the standard "backup" way to stop a thread
         if (workerThread != null) {
             workerThread.interrupt();
@@ -81,6 +88,7 @@ public class FileWatcher {
      *
      * @param listener listener to register
      */
+    @Override
     public void addListener(FileChangeListener listener) {
         listeners.add(listener);
         logger.info("Added listener [ listener={} ] ", listener.getClass().getSimpleName());
@@ -91,17 +99,34 @@ public class FileWatcher {
      *
      * @param listener listener to unregister
      */
+    @Override
     public void removeListener(FileChangeListener listener) {
         listeners.remove(listener);
         logger.info("Removed listener [ listener={} ] ", listener.getClass().getSimpleName());
     }
 
     void notifyListeners() {
-        if (!notificationCondition.shouldNotify()) {
+        if (!notificationCondition.submit(this::dispatchToListeners)) {
             logger.debug("Debouncing event (suppressed)");
-            return;
         }
+    }
+
+    /**
+     * Tell the listeners that events were lost. This bypasses the notification condition,
+     * a lost change must never be debounced away.
+     */
+    void notifyEventsLost() {
+        logger.warn("File events lost, requesting full resynchronization from {} listener(s)", listeners.size());
+        for (FileChangeListener listener : listeners) {
+            try {
+                listener.onEventsLost(null);
+            } catch (Exception e) {
+                logger.warn("Error notifying listener [ listener={} ]" ,listener.getClass().getSimpleName());
+            }
+        }
+    }
 
+    private void dispatchToListeners() {
         logger.info(" Change detected! Notifying {} listener(s)...", listeners.size());
         for (FileChangeListener listener : listeners) {
             try {
@@ -53,21 +53,27 @@ public class FileWatcherJob implements Runnable {
         }
     }
 
-    private void handleEvent(WatchEvent<?> event) {
+    void handleEvent(WatchEvent<?> event) {
         WatchEvent.Kind<?> kind = event.kind();
 
         if (kind == StandardWatchEventKinds.OVERFLOW) {
+            watcher.notifyEventsLost();
             return;
         }
 
-        if (kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-            @SuppressWarnings("unchecked")
-            WatchEvent<Path> ev = (WatchEvent<Path>) event;
-            Path changedFile = ev.context();
+        @SuppressWarnings("unchecked")
+        WatchEvent<Path> ev = (WatchEvent<Path>) event;
+        Path changedFile = ev.context();
+        if (!watcher.fileName.equals(changedFile)) {
+            return;
+        }
 
-            if (changedFile.equals(watcher.fileName)) {
-                watcher.notifyListeners();
-            }
+        if (kind == StandardWatchEventKinds.ENTRY_MODIFY || kind == StandardWatchEventKinds.ENTRY_CREATE) {
+            // ENTRY_CREATE: the file was (re)created, e.g. a temporary file renamed over it
+            watcher.notifyListeners();
+        } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            // nothing to read until the file is created again, which is reported as ENTRY_CREATE
+            logger.info("Watched file deleted or renamed away, waiting for it to be recreated [ file={} ]", changedFile);
         }
     }
 
@@ -0,0 +1,469 @@
+package pl.catchex.filewatcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Watches any number of files, selected one by one or by glob patterns such as
+ * {@code ~/notes/**}{@code /*.md}, with a single {@link WatchService} and a single dispatch
+ * thread.
+ *
+ * <p>Watched files are grouped by directory, so every directory costs one kernel watch no
+ * matter how many files in it are watched. An event is routed to the listeners of the
+ * changed file by a name lookup in its directory. Directories created below a recursive
+ * pattern are watched as soon as they appear.</p>
+ *
+ * <p>A watched file that is created (e.g. a temporary file renamed over it by an editor)
+ * counts as modified. When the watch service drops events of a directory, the listeners
+ * of all files watched in it are told through {@link FileChangeListener#onEventsLost(Path)}.</p>
+ *
+ * <p>When the directory of a watched file is deleted, its subscriptions are kept and its
+ * nearest existing ancestor is watched instead, so the files are watched again (and
+ * reported as modified) once the directory is created again.</p>
+ *
+ * <p>Every watched file has its own {@link NotificationCondition}, so debouncing one file
+ * never swallows the changes of another. Listeners are called with the path of the changed
+ * file.</p>
+ */
+public class MultiFileWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(MultiFileWatcher.class);
+
+    private final FileSystem fileSystem;
+    private final WatchService watchService;
+
+    // guarded by this
+    private final Map<Path, WatchedDirectory> directoriesByPath = new HashMap<>();
+    private final Map<WatchKey, WatchedDirectory> directoriesByKey = new ConcurrentHashMap<>();
+    private final List<PatternSubscription> patterns = new CopyOnWriteArrayList<>();
+
+    private Thread workerThread;
+
+    /**
+     * Create a watcher for the default file system.
+     *
+     * @throws IOException when the WatchService cannot be created
+     */
+    public MultiFileWatcher() throws IOException {
+        this(FileSystems.getDefault());
+    }
+
+    /**
+     * @param fileSystem file system of the watched files
+     * @throws IOException when the WatchService cannot be created
+     */
+    public MultiFileWatcher(FileSystem fileSystem) throws IOException {
+        this.fileSystem = fileSystem;
+        this.watchService = fileSystem.newWatchService();
+    }
+
+    /**
+     * Watch a single file.
+     *
+     * @param file      file to monitor
+     * @param condition strategy that decides whether an event of this file should notify the listener
+     * @param listener  listener called with the path of the file
+     * @throws IOException              when the directory of the file cannot be registered
+     * @throws IllegalArgumentException when the provided path is not valid for watching
+     */
+    public void watchFile(Path file, NotificationCondition condition, FileChangeListener listener) throws IOException {
+        FileValidationResult validationResult = FileToWatchValidator.validate(file);
+        if (validationResult.failed()) {
+            throw new IllegalArgumentException("Cannot watch file: " + validationResult.getMessage());
+        }
+        Path normalized = file.toAbsolutePath().normalize();
+        WatchedDirectory directory = register(normalized.getParent());
+        directory.files.computeIfAbsent(normalized.getFileName(), name -> new CopyOnWriteArrayList<>())
+                .add(new FileSubscription(normalized, condition, listener));
+        logger.info("Watching file [ file={}, listener={} ]", normalized, listener.getClass().getSimpleName());
+    }
+
+    /**
+     * Watch every file matching a glob pattern, including files created later.
+     *
+     * @param pattern    absolute glob pattern (a leading {@code ~} stands for the user home directory)
+     * @param conditions creates the notification condition of each matching file
+     * @param listener   listener called with the path of the changed file
+     * @throws IOException              when a directory cannot be registered
+     * @throws IllegalArgumentException when the pattern is invalid or its base directory does not exist
+     */
+    public void watchPattern(String pattern, Supplier<NotificationCondition> conditions, FileChangeListener listener) throws IOException {
+        WatchPattern watchPattern = WatchPattern.parse(pattern, fileSystem);
+        if (!Files.isDirectory(watchPattern.baseDirectory())) {
+            throw new IllegalArgumentException("Cannot watch pattern: base directory not found [ pattern=" + pattern + " ]");
+        }
+        patterns.add(new PatternSubscription(watchPattern, conditions, listener));
+        int registered = registerTree(watchPattern.baseDirectory(), watchPattern);
+        logger.info("Watching pattern [ pattern={}, directories={}, listener={} ]",
+                pattern, registered, listener.getClass().getSimpleName());
+    }
+
+    /**
+     * @return number of directories (kernel watches) currently registered
+     */
+    public synchronized int getWatchedDirectoryCount() {
+        return directoriesByKey.size();
+    }
+
+    /**
+     * @return number of files matched by patterns that currently have a notification condition
+     */
+    int getTrackedPatternFileCount() {
+        return patterns.stream().mapToInt(subscription -> subscription.conditionsByFile.size()).sum();
+    }
+
+    /**
+     * Start dispatching events in a new virtual thread.
+     */
+    public void start() {
+        logger.info("Starting multi-file monitoring job in a new virtual thread...");
+        this.workerThread = Thread.ofVirtual().name("tostdo-multi-file-watcher").start(this::run);
+    }
+
+    /**
+     * Stop watching, shut down the WatchService and close all notification conditions.
+     *
+     * @throws IOException when closing the watch service fails
+     */
+    public void stop() throws IOException {
+        logger.info("Stopping multi-file watcher...");
+        watchService.close();
+        List<NotificationCondition> conditions = new ArrayList<>();
+        synchronized (this) {
+            for (WatchedDirectory directory : directoriesByPath.values()) {
+                directory.files.values().forEach(subscriptions ->
+                        subscriptions.forEach(subscription -> conditions.add(subscription.condition())));
+            }
+        }
+        for (PatternSubscription subscription : patterns) {
+            conditions.addAll(subscription.conditionsByFile.values());
+        }
+        conditions.forEach(NotificationCondition::close);
+        if (workerThread != null) {
+            workerThread.interrupt();
+        }
+    }
+
+    private void run() {
+        logger.info("Multi-file job starting...");
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                logger.warn("Multi-file job interrupted.");
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ClosedWatchServiceException e) {
+                logger.info("WatchService closed, stopping thread.");
+                break;
+            }
+            WatchedDirectory directory = directoriesByKey.get(key);
+            if (directory != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Path name = event.context() instanceof Path path ? path : null;
+                    dispatch(directory.path, event.kind(), name);
+                }
+            }
+            if (!key.reset() && directory != null) {
+                unregister(directory.path);
+            }
+        }
+        logger.info("Multi-file job finished.");
+    }
+
+    /**
+     * Route one event of a watched directory to the listeners of the affected file.
+     *
+     * @param directory watched directory the event belongs to
+     * @param kind      kind of the event
+     * @param name      name of the affected entry, relative to the directory (null for OVERFLOW)
+     */
+    void dispatch(Path directory, WatchEvent.Kind<?> kind, Path name) {
+        if (kind == StandardWatchEventKinds.OVERFLOW) {
+            onEventsLost(directory);
+            return;
+        }
+        if (name == null) {
+            return;
+        }
+        Path file = directory.resolve(name);
+        if (kind == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+            onDirectoryCreated(file);
+            return;
+        }
+        if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            // nothing to read until the file is created again, which is reported as ENTRY_CREATE
+            logger.debug("Watched entry deleted or renamed away [ file={} ]", file);
+            for (PatternSubscription subscription : patterns) {
+                subscription.forget(candidate -> candidate.equals(file));
+            }
+            return;
+        }
+        WatchedDirectory watched;
+        synchronized (this) {
+            watched = directoriesByPath.get(directory);
+        }
+        if (watched != null) {
+            List<FileSubscription> subscriptions = watched.files.get(name);
+            if (subscriptions != null) {
+                subscriptions.forEach(FileSubscription::notifyListener);
+            }
+        }
+        for (PatternSubscription subscription : patterns) {
+            if (subscription.pattern.matches(file)) {
+                subscription.notifyListener(file);
+            }
+        }
+    }
+
+    // lost changes bypass the notification conditions, they must never be debounced away
+    private void onEventsLost(Path directory) {
+        logger.warn("File events lost [ directory={} ]", directory);
+        WatchedDirectory watched;
+        synchronized (this) {
+            watched = directoriesByPath.get(directory);
+        }
+        if (watched != null) {
+            watched.files.values().forEach(subscriptions -> subscriptions.forEach(subscription ->
+                    notifyEventsLost(subscription.listener(), subscription.file())));
+        }
+        for (PatternSubscription subscription : patterns) {
+            if (subscription.pattern.covers(directory)) {
+                notifyEventsLost(subscription.listener, directory);
+            }
+        }
+    }
+
+    private void onDirectoryCreated(Path directory) {
+        reattach(directory);
+        for (PatternSubscription subscription : patterns) {
+            if (!subscription.pattern.covers(directory)) {
+                continue;
+            }
+            try {
+                registerTree(directory, subscription.pattern);
+                // files written before the directory was registered would otherwise go unnoticed
+                try (var files = Files.walk(directory)) {
+                    files.filter(Files::isRegularFile)
+                            .filter(subscription.pattern::matches)
+                            .forEach(subscription::notifyListener);
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot watch new directory [ directory={}, message={} ]", directory, e.getMessage());
+            }
+        }
+    }
+
+    private int registerTree(Path root, WatchPattern pattern) throws IOException {
+        if (!pattern.recursive()) {
+            register(root);
+            return 1;
+        }
+        int[] registered = {0};
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                register(dir.toAbsolutePath().normalize());
+                registered[0]++;
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                logger.warn("Cannot watch directory [ directory={}, message={} ]", file, e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return registered[0];
+    }
+
+    private synchronized WatchedDirectory register(Path directory) throws IOException {
+        WatchedDirectory watched = directoriesByPath.get(directory);
+        if (watched != null && watched.key != null) {
+            return watched;
+        }
+        WatchKey key;
+        try {
+            key = directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new IOException("I/O error while registering WatchService for " + directory, e);
+        }
+        if (watched == null) {
+            watched = new WatchedDirectory(directory);
+            directoriesByPath.put(directory, watched);
+        }
+        watched.key = key;
+        directoriesByKey.put(key, watched);
+        logger.debug("Watching directory [ directory={} ]", directory);
+        return watched;
+    }
+
+    /**
+     * Stop watching a directory that was deleted or became inaccessible.
+     *
+     * @param path watched directory
+     */
+    void unregister(Path path) {
+        WatchedDirectory directory;
+        synchronized (this) {
+            directory = directoriesByPath.get(path);
+            if (directory == null || directory.key == null) {
+                return;
+            }
+            directoriesByKey.remove(directory.key);
+            directory.key.cancel();
+            directory.key = null;
+            if (directory.files.isEmpty()) {
+                directoriesByPath.remove(directory.path);
+            }
+        }
+        logger.warn("Watched directory has become inaccessible [ directory={} ]", directory.path);
+        for (PatternSubscription subscription : patterns) {
+            subscription.forget(file -> file.startsWith(directory.path));
+        }
+        if (!directory.files.isEmpty()) {
+            // keep the file subscriptions until the directory is created again
+            watchNearestAncestor(directory.path);
+            reattach(directory.path);
+        }
+    }
+
+    private void watchNearestAncestor(Path directory) {
+        for (Path ancestor = directory.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (Files.isDirectory(ancestor)) {
+                try {
+                    register(ancestor);
+                    logger.info("Waiting for watched directory to be created again [ directory={}, watching={} ]", directory, ancestor);
+                } catch (IOException e) {
+                    logger.warn("Cannot watch directory [ directory={}, message={} ]", ancestor, e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Watch again the deleted directories of watched files at or below a directory that was
+     * (re)created, and report their files that exist by now.
+     */
+    private void reattach(Path created) {
+        List<WatchedDirectory> detached = new ArrayList<>();
+        synchronized (this) {
+            for (WatchedDirectory directory : directoriesByPath.values()) {
+                if (directory.key == null && directory.path.startsWith(created)) {
+                    detached.add(directory);
+                }
+            }
+        }
+        for (WatchedDirectory directory : detached) {
+            if (!Files.isDirectory(directory.path)) {
+                // an intermediate directory was created, wait for the next level
+                watchNearestAncestor(directory.path);
+                continue;
+            }
+            try {
+                register(directory.path);
+            } catch (IOException e) {
+                logger.warn("Cannot watch directory again [ directory={}, message={} ]", directory.path, e.getMessage());
+                continue;
+            }
+            logger.info("Watched directory created again [ directory={} ]", directory.path);
+            // files written before the directory was registered would otherwise go unnoticed
+            directory.files.values().forEach(subscriptions -> subscriptions.stream()
+                    .filter(subscription -> Files.exists(subscription.file()))
+                    .forEach(FileSubscription::notifyListener));
+        }
+    }
+
+    private static void notifySafely(FileChangeListener listener, Path file) {
+        try {
+            listener.onFileModified(file);
+        } catch (Exception e) {
+            logger.warn("Error notifying listener [ listener={}, file={} ]", listener.getClass().getSimpleName(), file);
+        }
+    }
+
+    private static void notifyEventsLost(FileChangeListener listener, Path path) {
+        try {
+            listener.onEventsLost(path);
+        } catch (Exception e) {
+            logger.warn("Error notifying listener [ listener={}, path={} ]", listener.getClass().getSimpleName(), path);
+        }
+    }
+
+    private static final class WatchedDirectory {
+        private final Path path;
+        private final Map<Path, List<FileSubscription>> files = new ConcurrentHashMap<>();
+        // guarded by the watcher, null while the directory does not exist
+        private WatchKey key;
+
+        private WatchedDirectory(Path path) {
+            this.path = path;
+        }
+    }
+
+    private record FileSubscription(Path file, NotificationCondition condition, FileChangeListener listener) {
+        void notifyListener() {
+            if (!condition.submit(() -> notifySafely(listener, file))) {
+                logger.debug("Debouncing event (suppressed) [ file={} ]", file);
+            }
+        }
+    }
+
+    private static final class PatternSubscription {
+        private final WatchPattern pattern;
+        private final Supplier<NotificationCondition> conditions;
+        private final FileChangeListener listener;
+        private final Map<Path, NotificationCondition> conditionsByFile = new ConcurrentHashMap<>();
+
+        private PatternSubscription(WatchPattern pattern, Supplier<NotificationCondition> conditions, FileChangeListener listener) {
+            this.pattern = pattern;
+            this.conditions = conditions;
+            this.listener = listener;
+        }
+
+        void notifyListener(Path file) {
+            NotificationCondition condition = conditionsByFile.computeIfAbsent(file, f -> conditions.get());
+            if (!condition.submit(() -> notifySafely(listener, file))) {
+                logger.debug("Debouncing event (suppressed) [ file={}, pattern={} ]", file, pattern);
+            }
+        }
+
+        // drop the conditions of files that no longer exist, a file created again gets a new one
+        void forget(Predicate<Path> files) {
+            conditionsByFile.entrySet().removeIf(entry -> {
+                if (!files.test(entry.getKey())) {
+                    return false;
+                }
+                entry.getValue().close();
+                return true;
+            });
+        }
+
+    }
+}
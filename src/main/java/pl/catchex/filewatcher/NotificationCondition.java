@@ -13,4 +13,27 @@ public interface NotificationCondition {
      * false if it should be suppressed.
      */
     boolean shouldNotify();
+
+    /**
+     * Route a detected change to the listeners. The default implementation runs the
+     * notification immediately when {@link #shouldNotify()} allows it; conditions that
+     * defer notifications override this method and run it later on their own thread.
+     *
+     * @param notification action notifying the listeners
+     * @return true if the notification was run or scheduled, false if it was suppressed
+     */
+    default boolean submit(Runnable notification) {
+        if (!shouldNotify()) {
+            return false;
+        }
+        notification.run();
+        return true;
+    }
+
+    /**
+     * Release resources held by the condition (e.g. scheduler threads).
+     */
+    default void close() {
+        // nothing to release by default
+    }
 }
@@ -0,0 +1,242 @@
+package pl.catchex.filewatcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.catchex.common.FileStamp;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FileMonitor} detecting changes by polling the size, modification time and file
+ * key of the file, for file systems where kernel watch events never fire (NFS, SMB,
+ * FUSE mounts).
+ *
+ * <p>The polling interval adapts to the activity of the file: it drops to the minimum
+ * right after a change, so the rest of an editing session is picked up quickly, and
+ * doubles with every unchanged poll up to the maximum while the file is idle. A deleted
+ * file is not reported, its reappearance is.</p>
+ */
+public class PollingFileWatcher implements FileMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(PollingFileWatcher.class);
+
+    public static final long DEFAULT_MIN_INTERVAL_MS = 250;
+    public static final long DEFAULT_MAX_INTERVAL_MS = 5000;
+
+    // file store types on which kernel watch events are not delivered for remote changes; FUSE
+    // file systems are listed one by one, local ones such as fuseblk (NTFS, exFAT) deliver events
+    private static final Set<String> UNWATCHABLE_FILE_STORES = Set.of(
+            "nfs", "nfs4", "cifs", "smb", "smbfs", "smb2", "smb3", "9p", "afs", "davfs", "sshfs", "vboxsf", "prl_fs",
+            "fuse.sshfs", "fuse.rclone", "fuse.s3fs", "fuse.gcsfuse", "fuse.goofys", "fuse.juicefs", "fuse.glusterfs",
+            "fuse.ceph-fuse", "fuse.curlftpfs", "fuse.smbnetfs", "fuse.gvfsd-fuse");
+
+    private final List<FileChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Path file;
+    private final NotificationCondition notificationCondition;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+
+    private final Object lock = new Object();
+    private FileStamp lastStamp;
+    private long intervalMs;
+    private volatile boolean running;
+
+    /**
+     * Create a polling watcher with a custom scheduler (useful for tests).
+     *
+     * @param fileToWatch           file to monitor
+     * @param notificationCondition strategy that decides whether a change should notify listeners
+     * @param minIntervalMs         polling interval (in milliseconds) right after a change
+     * @param maxIntervalMs         longest polling interval (in milliseconds) while the file is idle
+     * @param scheduler             scheduler running the polls
+     * @throws IllegalArgumentException when the provided path is not valid for watching
+     */
+    public PollingFileWatcher(Path fileToWatch, NotificationCondition notificationCondition,
+                              long minIntervalMs, long maxIntervalMs, ScheduledExecutorService scheduler) {
+        this(fileToWatch, notificationCondition, minIntervalMs, maxIntervalMs, scheduler, false);
+    }
+
+    /**
+     * Create a polling watcher running the polls on its own daemon thread.
+     *
+     * @param fileToWatch           file to monitor
+     * @param notificationCondition strategy that decides whether a change should notify listeners
+     * @param minIntervalMs         polling interval (in milliseconds) right after a change
+     * @param maxIntervalMs         longest polling interval (in milliseconds) while the file is idle
+     * @throws IllegalArgumentException when the provided path is not valid for watching
+     */
+    public PollingFileWatcher(Path fileToWatch, NotificationCondition notificationCondition, long minIntervalMs, long maxIntervalMs) {
+        this(fileToWatch, notificationCondition, minIntervalMs, maxIntervalMs, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable);
+            t.setDaemon(true);
+            t.setName("tostdo-file-poller");
+            return t;
+        }), true);
+    }
+
+    private PollingFileWatcher(Path fileToWatch, NotificationCondition notificationCondition,
+                               long minIntervalMs, long maxIntervalMs, ScheduledExecutorService scheduler, boolean ownsScheduler) {
+        FileValidationResult validationResult = FileToWatchValidator.validate(fileToWatch);
+        if (validationResult.failed()) {
+            throw new IllegalArgumentException("Cannot create PollingFileWatcher: " + validationResult.getMessage());
+        }
+        this.file = fileToWatch;
+        this.notificationCondition = notificationCondition;
+        this.minIntervalMs = Math.max(1, minIntervalMs);
+        this.maxIntervalMs = Math.max(this.minIntervalMs, maxIntervalMs);
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        this.lastStamp = stamp(fileToWatch);
+        this.intervalMs = this.minIntervalMs;
+    }
+
+    /**
+     * Check whether kernel watch events are unreliable for the file, i.e. it is stored on a
+     * network file system or a FUSE file system backed by a remote store.
+     *
+     * @param file file to check
+     * @return true if the file should be polled
+     */
+    public static boolean isRecommendedFor(Path file) {
+        try {
+            FileStore store = Files.getFileStore(file);
+            return isUnwatchableFileStoreType(store.type());
+        } catch (IOException e) {
+            logger.debug("Cannot determine file store [ file={}, message={} ]", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param type file store type as reported by {@link FileStore#type()}
+     * @return true if kernel watch events are not delivered for remote changes on that file store
+     */
+    static boolean isUnwatchableFileStoreType(String type) {
+        return UNWATCHABLE_FILE_STORES.contains(type.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Start polling the file.
+     */
+    @Override
+    public void start() {
+        logger.info("Starting polling job [ file={}, minIntervalMs={}, maxIntervalMs={} ]", file, minIntervalMs, maxIntervalMs);
+        running = true;
+        schedule(minIntervalMs);
+    }
+
+    /**
+     * Stop polling the file.
+     */
+    @Override
+    public void stop() {
+        logger.info("Stopping polling file watcher...");
+        running = false;
+        notificationCondition.close();
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void addListener(FileChangeListener listener) {
+        listeners.add(listener);
+        logger.info("Added listener [ listener={} ] ", listener.getClass().getSimpleName());
+    }
+
+    @Override
+    public void removeListener(FileChangeListener listener) {
+        listeners.remove(listener);
+        logger.info("Removed listener [ listener={} ] ", listener.getClass().getSimpleName());
+    }
+
+    /**
+     * @return interval (in milliseconds) until the next poll
+     */
+    long getIntervalMs() {
+        synchronized (lock) {
+            return intervalMs;
+        }
+    }
+
+    /**
+     * Compare the current attributes of the file with the previous poll, notify the
+     * listeners about a change and adapt the polling interval.
+     *
+     * @return true if the file changed since the previous poll
+     */
+    boolean poll() {
+        FileStamp stamp = stamp(file);
+        synchronized (lock) {
+            // attributes only, the content is hashed by the listener if it needs to know
+            if (stamp == null ? lastStamp == null : stamp.sameAttributesAs(lastStamp)) {
+                intervalMs = Math.min(intervalMs * 2, maxIntervalMs);
+                return false;
+            }
+            lastStamp = stamp;
+            intervalMs = minIntervalMs;
+        }
+        if (stamp == null) {
+            logger.info("Watched file deleted or renamed away, waiting for it to be recreated [ file={} ]", file);
+        } else if (!notificationCondition.submit(this::dispatchToListeners)) {
+            logger.debug("Debouncing event (suppressed)");
+        }
+        return true;
+    }
+
+    // null when the file does not exist or cannot be read
+    private static FileStamp stamp(Path file) {
+        try {
+            return FileStamp.of(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void pollAndReschedule() {
+        if (!running) {
+            return;
+        }
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            logger.warn("Polling failed [ file={}, message={} ]", file, e.getMessage());
+        }
+        schedule(getIntervalMs());
+    }
+
+    private void schedule(long delayMs) {
+        if (!running) {
+            return;
+        }
+        try {
+            scheduler.schedule(this::pollAndReschedule, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Polling scheduler shut down [ file={} ]", file);
+        }
+    }
+
+    private void dispatchToListeners() {
+        logger.info(" Change detected! Notifying {} listener(s)...", listeners.size());
+        for (FileChangeListener listener : listeners) {
+            try {
+                listener.onFileModified(null);
+            } catch (Exception e) {
+                logger.warn("Error notifying listener [ listener={} ]" ,listener.getClass().getSimpleName());
+            }
+        }
+    }
+}
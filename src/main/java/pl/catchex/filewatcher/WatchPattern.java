@@ -0,0 +1,138 @@
+package pl.catchex.filewatcher;
+
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A glob pattern selecting files to watch, e.g. {@code ~/notes/**}{@code /*.md}.
+ *
+ * <p>The pattern is split into its base directory (the leading segments without glob
+ * characters) and the glob applied below it. A leading {@code ~} stands for the user home
+ * directory. Every {@code **}{@code /} also matches zero directories, so {@code notes/**}{@code /*.md}
+ * includes the markdown files directly in {@code notes} and {@code a/**}{@code /b/**}{@code /*.md}
+ * includes {@code a/b/x/y.md}.</p>
+ */
+final class WatchPattern {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private final String pattern;
+    private final Path baseDirectory;
+    private final boolean recursive;
+    private final List<PathMatcher> matchers = new ArrayList<>();
+
+    private WatchPattern(String pattern, Path baseDirectory, String glob, FileSystem fileSystem) {
+        this.pattern = pattern;
+        this.baseDirectory = baseDirectory;
+        this.recursive = glob.contains("/") || glob.contains("**");
+        String prefix = baseDirectory.toString().replace('\\', '/');
+        if (!prefix.endsWith("/")) {
+            prefix += "/";
+        }
+        for (String variant : zeroDirectoryVariants(glob)) {
+            matchers.add(fileSystem.getPathMatcher("glob:" + prefix + variant));
+        }
+    }
+
+    /**
+     * @return the glob with every combination of its {@code **}{@code /} occurrences kept or dropped
+     */
+    private static Set<String> zeroDirectoryVariants(String glob) {
+        int index = glob.indexOf("**/");
+        if (index < 0) {
+            return Set.of(glob);
+        }
+        Set<String> variants = new LinkedHashSet<>();
+        String head = glob.substring(0, index);
+        for (String tail : zeroDirectoryVariants(glob.substring(index + 3))) {
+            variants.add(head + "**/" + tail);
+            variants.add(head + tail);
+        }
+        return variants;
+    }
+
+    /**
+     * @param pattern    glob pattern, absolute or starting with {@code ~}
+     * @param fileSystem file system the pattern applies to
+     * @return parsed pattern
+     * @throws IllegalArgumentException when the pattern has no glob part or its base directory is not absolute
+     */
+    static WatchPattern parse(String pattern, FileSystem fileSystem) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Watch pattern is blank");
+        }
+        String expanded = pattern.replace('\\', '/');
+        if (expanded.equals("~") || expanded.startsWith("~/")) {
+            expanded = System.getProperty("user.home").replace('\\', '/') + expanded.substring(1);
+        }
+        String[] segments = expanded.split("/", -1);
+        int firstGlob = 0;
+        while (firstGlob < segments.length && !hasGlobCharacter(segments[firstGlob])) {
+            firstGlob++;
+        }
+        if (firstGlob == segments.length) {
+            throw new IllegalArgumentException("Watch pattern has no glob part [ pattern=" + pattern + " ]");
+        }
+        String base = String.join("/", List.of(segments).subList(0, firstGlob));
+        Path baseDirectory = fileSystem.getPath(base.isEmpty() ? "/" : base).normalize();
+        if (!baseDirectory.isAbsolute()) {
+            throw new IllegalArgumentException("Watch pattern must be absolute [ pattern=" + pattern + " ]");
+        }
+        String glob = String.join("/", List.of(segments).subList(firstGlob, segments.length));
+        return new WatchPattern(pattern, baseDirectory, glob, fileSystem);
+    }
+
+    /**
+     * @return deepest directory containing every matching file
+     */
+    Path baseDirectory() {
+        return baseDirectory;
+    }
+
+    /**
+     * @return true if matching files may be in subdirectories of the base directory
+     */
+    boolean recursive() {
+        return recursive;
+    }
+
+    /**
+     * @param file absolute, normalized path
+     * @return true if the file is selected by the pattern
+     */
+    boolean matches(Path file) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param directory absolute, normalized path of a directory
+     * @return true if files selected by the pattern may be inside the directory
+     */
+    boolean covers(Path directory) {
+        return directory.startsWith(baseDirectory) && (recursive || directory.equals(baseDirectory));
+    }
+
+    private static boolean hasGlobCharacter(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(segment.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
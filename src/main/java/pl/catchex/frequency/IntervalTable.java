@@ -0,0 +1,65 @@
+package pl.catchex.frequency;
+
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.model.IntervalMinutes;
+import pl.catchex.model.Task;
+
+/**
+ * Reminder intervals precomputed for every combination of {@link Task.Priority} and
+ * {@link Urgency}. The table is built once per {@link ReminderConfiguration}, so looking
+ * up an interval is a single array access returning a shared {@link IntervalMinutes}.
+ */
+final class IntervalTable {
+
+    private static final int URGENCY_COUNT = Urgency.values().length;
+
+    private final IntervalMinutes[] intervals;
+
+    private IntervalTable(IntervalMinutes[] intervals) {
+        this.intervals = intervals;
+    }
+
+    /**
+     * Build the table: base interval of the priority, multiplied by the configured factor
+     * of the urgency band and rounded to whole minutes.
+     *
+     * @param configuration reminder configuration containing base intervals and factors
+     * @return precomputed table
+     * @throws IllegalArgumentException when an interval would be shorter than one minute
+     */
+    static IntervalTable of(ReminderConfiguration configuration) {
+        double criticalFactor = configuration.getPeriodFactor().getCritical();
+        double urgentFactor = configuration.getPeriodFactor().getUrgent();
+
+        Task.Priority[] priorities = Task.Priority.values();
+        IntervalMinutes[] intervals = new IntervalMinutes[priorities.length * URGENCY_COUNT];
+        for (Task.Priority priority : priorities) {
+            IntervalMinutes base = TaskPriorityToBaseIntervalConverter.convert(priority, configuration);
+            for (Urgency urgency : Urgency.values()) {
+                IntervalMinutes interval = switch (urgency) {
+                    case CRITICAL -> expedite(base, criticalFactor);
+                    case URGENT -> expedite(base, urgentFactor);
+                    case NONE -> base;
+                };
+                if (interval.value() < 1) {
+                    throw new IllegalArgumentException("Reminder interval must be at least 1 minute [ priority=" + priority
+                            + ", urgency=" + urgency + ", minutes=" + interval.value() + " ]");
+                }
+                intervals[index(priority, urgency)] = interval;
+            }
+        }
+        return new IntervalTable(intervals);
+    }
+
+    IntervalMinutes get(Task.Priority priority, Urgency urgency) {
+        return intervals[index(priority, urgency)];
+    }
+
+    private static int index(Task.Priority priority, Urgency urgency) {
+        return priority.ordinal() * URGENCY_COUNT + urgency.ordinal();
+    }
+
+    private static IntervalMinutes expedite(IntervalMinutes baseInterval, double factor) {
+        return new IntervalMinutes((int) Math.round(baseInterval.value() * factor));
+    }
+}
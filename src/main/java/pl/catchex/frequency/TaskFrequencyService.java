@@ -5,20 +5,22 @@ import pl.catchex.model.IntervalMinutes;
 import pl.catchex.model.Task;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class TaskFrequencyService {
 
     private final Clock clock;
 
-    private final double periodCriticalFactor;
-    private final double periodUrgentFactor;
+    private volatile Settings settings;
 
-    private final int periodCriticalThreshold;
-    private final int periodUrgentThreshold;
-
-    private final ReminderConfiguration reminderConfig;
+    private volatile CachedDay cachedDay;
 
     /**
      * Create a TaskFrequencyService using the provided clock and reminder configuration.
@@ -28,11 +30,51 @@ public class TaskFrequencyService {
      */
     public TaskFrequencyService(Clock clock, ReminderConfiguration configuration){
         this.clock = clock;
-        this.reminderConfig = configuration;
-        periodCriticalFactor = configuration.getPeriodFactor().getCritical();
-        periodUrgentFactor = configuration.getPeriodFactor().getUrgent();
-        periodCriticalThreshold = configuration.getPeriodThreshold().getCritical();
-        periodUrgentThreshold = configuration.getPeriodThreshold().getUrgent();
+        this.settings = Settings.of(configuration);
+    }
+
+    /**
+     * Replace the reminder configuration, rebuilding the precomputed interval table.
+     *
+     * @param configuration new reminder configuration containing factors and thresholds
+     * @throws IllegalArgumentException when the configuration cannot be applied, the current one is kept then
+     */
+    public void reconfigure(ReminderConfiguration configuration) {
+        apply(prepare(configuration));
+    }
+
+    /**
+     * Build and check the settings of a reminder configuration without applying them,
+     * so a caller can compute the new intervals before changing any state.
+     *
+     * @param configuration reminder configuration containing factors and thresholds
+     * @return settings ready to be passed to {@link #apply(Settings)}
+     * @throws IllegalArgumentException when a section is missing or an interval would be shorter than one minute
+     */
+    public static Settings prepare(ReminderConfiguration configuration) {
+        return Settings.of(configuration);
+    }
+
+    /**
+     * @param configuration reminder configuration to check
+     * @return descriptions of the problems found (empty when the configuration can be applied)
+     */
+    public static List<String> validate(ReminderConfiguration configuration) {
+        try {
+            prepare(configuration);
+            return List.of();
+        } catch (IllegalArgumentException e) {
+            return List.of(e.getMessage());
+        }
+    }
+
+    /**
+     * Make previously prepared settings the current ones.
+     *
+     * @param prepared settings returned by {@link #prepare(ReminderConfiguration)}
+     */
+    public void apply(Settings prepared) {
+        this.settings = prepared;
     }
 
     /**
@@ -45,34 +87,157 @@ public class TaskFrequencyService {
      * @return calculated  {@link IntervalMinutes} representing minutes between reminders
      */
     public IntervalMinutes calculateTaskInterval(Task task){
-        IntervalMinutes baseInterval = TaskPriorityToBaseIntervalConverter.convert(task.priority(), reminderConfig);
-        return expediteIfTimeLow(task, baseInterval);
+        Settings current = settings;
+        return current.intervals().get(task.priority(), urgencyOf(task, todayEpochDay(), current));
     }
 
-    private IntervalMinutes expediteIfTimeLow(Task task, IntervalMinutes baseInterval) {
-        if(task.dueDate() == null){
-            return baseInterval;
+    /**
+     * Calculate the reminder intervals of many tasks at once, e.g. for bulk rescheduling.
+     * "Today" is determined once for the whole batch.
+     *
+     * @param tasks tasks to calculate intervals for
+     * @return intervals keyed by task
+     */
+    public Map<Task, IntervalMinutes> calculateIntervals(Collection<Task> tasks) {
+        return calculateIntervals(tasks, settings);
+    }
+
+    /**
+     * Calculate the reminder intervals of many tasks with the given settings, which need
+     * not be the current ones.
+     *
+     * @param tasks    tasks to calculate intervals for
+     * @param prepared settings returned by {@link #prepare(ReminderConfiguration)}
+     * @return intervals keyed by task
+     */
+    public Map<Task, IntervalMinutes> calculateIntervals(Collection<Task> tasks, Settings prepared) {
+        long today = todayEpochDay();
+        Map<Task, IntervalMinutes> intervals = new HashMap<>();
+        for (Task task : tasks) {
+            intervals.put(task, prepared.intervals().get(task.priority(), urgencyOf(task, today, prepared)));
+        }
+        return intervals;
+    }
+
+    /**
+     * @return the current date according to the clock of this service
+     */
+    public LocalDate today() {
+        return LocalDate.ofEpochDay(todayEpochDay());
+    }
+
+    /**
+     * Find the first day after today on which the task enters the urgent or critical
+     * window, i.e. on which its reminder interval changes.
+     *
+     * @param task the {@link Task} to check
+     * @return the day of the next urgency change, or empty for tasks without due date
+     * and tasks that are already critical
+     */
+    public Optional<LocalDate> nextUrgencyChange(Task task) {
+        if (task.dueDate() == null) {
+            return Optional.empty();
+        }
+        long today = todayEpochDay();
+        Settings current = settings;
+        long due = task.dueDate().toEpochDay();
+        // fewer than N days left starts on the day when exactly N - 1 days are left
+        long urgentFrom = due - current.urgentThreshold() + 1;
+        long criticalFrom = due - current.criticalThreshold() + 1;
+        if (urgentFrom > today && urgentFrom < criticalFrom) {
+            return Optional.of(LocalDate.ofEpochDay(urgentFrom));
+        }
+        if (criticalFrom > today) {
+            return Optional.of(LocalDate.ofEpochDay(criticalFrom));
         }
-        LocalDate today = LocalDate.now(clock);
+        return Optional.empty();
+    }
+
+    /**
+     * Classify a {@link Task} by the number of days left until its due date
+     * (calendar days, {@link java.time.temporal.ChronoUnit#DAYS} semantics).
+     *
+     * @param task the {@link Task} to classify
+     * @return {@link Urgency#CRITICAL} or {@link Urgency#URGENT} when the due date is within
+     * the corresponding threshold, {@link Urgency#NONE} otherwise (also for tasks without due date)
+     */
+    public Urgency urgencyOf(Task task) {
+        return urgencyOf(task, todayEpochDay(), settings);
+    }
 
-        Period period = Period.between(today, task.dueDate());
+    private Urgency urgencyOf(Task task, long today, Settings current) {
+        if(task.dueDate() == null){
+            return Urgency.NONE;
+        }
+        long daysLeft = task.dueDate().toEpochDay() - today;
 
-        if(period.getDays() < periodCriticalThreshold){
-            return expedite(baseInterval, periodCriticalFactor);
+        if(daysLeft < current.criticalThreshold()){
+            return Urgency.CRITICAL;
         }
-        if(period.getDays() < periodUrgentThreshold){
-            return expedite(baseInterval, periodUrgentFactor);
+        if(daysLeft < current.urgentThreshold()){
+            return Urgency.URGENT;
         }
-        return baseInterval;
+        return Urgency.NONE;
     }
 
-    private IntervalMinutes expedite(IntervalMinutes baseInterval, double factor){
-        int intervalMinutes = baseInterval.value();
-        int roundedInterval = round(intervalMinutes * factor);
-        return new IntervalMinutes(roundedInterval);
+    /**
+     * Return today's epoch day, recomputing it only when the clock has left the cached day.
+     */
+    private long todayEpochDay() {
+        long now = clock.millis();
+        CachedDay cached = cachedDay;
+        if (cached != null && now >= cached.startMillis() && now < cached.endMillis()) {
+            return cached.epochDay();
+        }
+        ZoneId zone = clock.getZone();
+        LocalDate today = Instant.ofEpochMilli(now).atZone(zone).toLocalDate();
+        cached = new CachedDay(
+                today.toEpochDay(),
+                today.atStartOfDay(zone).toInstant().toEpochMilli(),
+                today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli()
+        );
+        cachedDay = cached;
+        return cached.epochDay();
+    }
+
+    /**
+     * Thresholds and precomputed interval table of one reminder configuration.
+     */
+    public static final class Settings {
+        private final int criticalThreshold;
+        private final int urgentThreshold;
+        private final IntervalTable intervals;
+
+        private Settings(int criticalThreshold, int urgentThreshold, IntervalTable intervals) {
+            this.criticalThreshold = criticalThreshold;
+            this.urgentThreshold = urgentThreshold;
+            this.intervals = intervals;
+        }
+
+        static Settings of(ReminderConfiguration configuration) {
+            if (configuration == null || configuration.getPeriodThreshold() == null || configuration.getPeriodFactor() == null) {
+                throw new IllegalArgumentException("Reminder configuration needs periodThreshold and periodFactor");
+            }
+            return new Settings(
+                    configuration.getPeriodThreshold().getCritical(),
+                    configuration.getPeriodThreshold().getUrgent(),
+                    IntervalTable.of(configuration)
+            );
+        }
+
+        int criticalThreshold() {
+            return criticalThreshold;
+        }
+
+        int urgentThreshold() {
+            return urgentThreshold;
+        }
+
+        IntervalTable intervals() {
+            return intervals;
+        }
     }
 
-    private int round(double valueToRound){
-        return (int) Math.round(valueToRound);
+    private record CachedDay(long epochDay, long startMillis, long endMillis) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package pl.catchex.frequency;
+
+/**
+ * How close a task is to its due date, according to the configured period thresholds.
+ */
+public enum Urgency {
+    NONE, URGENT, CRITICAL
+}
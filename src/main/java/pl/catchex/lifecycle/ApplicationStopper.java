@@ -3,7 +3,7 @@ package pl.catchex.lifecycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.catchex.reminder.TaskReminderService;
-import pl.catchex.filewatcher.FileWatcher;
+import pl.catchex.filewatcher.FileMonitor;
 import pl.catchex.synchonizer.TaskRepositorySynchronizer;
 import pl.catchex.tray.TrayService;
 
@@ -17,13 +17,13 @@ import java.util.concurrent.TimeUnit;
 public class ApplicationStopper {
     private static final Logger logger = LoggerFactory.getLogger(ApplicationStopper.class);
 
-    private final FileWatcher tasksFileWatcher;
+    private final FileMonitor tasksFileWatcher;
     private final TaskRepositorySynchronizer synchronizer;
     private final TaskReminderService reminderService;
     private final ScheduledExecutorService reminderExecutor;
     private final TrayService createdTrayService;
 
-    public ApplicationStopper(FileWatcher tasksFileWatcher,
+    public ApplicationStopper(FileMonitor tasksFileWatcher,
                               TaskRepositorySynchronizer synchronizer,
                               TaskReminderService reminderService,
                               ScheduledExecutorService reminderExecutor,
@@ -38,7 +38,7 @@ public class ApplicationStopper {
     /**
      * Stop provided components. This method attempts to stop everything
      * gracefully and logs exceptions instead of throwing them, except
-     * for IO errors coming from FileWatcher.stop() which are propagated.
+     * for IO errors coming from FileMonitor.stop() which are propagated.
      */
     public void stop() throws IOException {
         removeSynchronizerListener();
@@ -60,7 +60,7 @@ public class ApplicationStopper {
 
     private void stopWatcher() throws IOException {
         if (this.tasksFileWatcher != null) {
-            // FileWatcher.stop() may throw IOException which we propagate
+            // FileMonitor.stop() may throw IOException which we propagate
             this.tasksFileWatcher.stop();
         }
     }
@@ -1,6 +1,6 @@
 package pl.catchex.lifecycle;
 
-import pl.catchex.filewatcher.FileWatcher;
+import pl.catchex.filewatcher.FileMonitor;
 import pl.catchex.reminder.TaskReminderService;
 import pl.catchex.synchonizer.TaskRepositorySynchronizer;
 import pl.catchex.tray.TrayService;
@@ -12,7 +12,7 @@ import java.util.concurrent.ScheduledExecutorService;
  * to inject a mock factory or a custom implementation when needed.
  */
 public interface ApplicationStopperFactory {
-    ApplicationStopper create(FileWatcher tasksFileWatcher,
+    ApplicationStopper create(FileMonitor tasksFileWatcher,
                                TaskRepositorySynchronizer synchronizer,
                                TaskReminderService reminderService,
                                ScheduledExecutorService reminderExecutor,
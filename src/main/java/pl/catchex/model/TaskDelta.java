@@ -0,0 +1,127 @@
+package pl.catchex.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A batch of changes applied to a {@link TaskRepository} in one step.
+ *
+ * <p>Added tasks and edited tasks occur once unless {@code recounted} says otherwise.
+ * Removing a task removes all of its occurrences.</p>
+ *
+ * @param removed   tasks to remove (or that were removed)
+ * @param added     tasks to add (or that were added)
+ * @param updated   tasks to replace by their edited version (or that were replaced)
+ * @param recounted new occurrence count of tasks whose number of occurrences changed
+ *                  (or of added and edited tasks occurring more than once)
+ */
+public record TaskDelta(Set<Task> removed, Set<Task> added, Set<TaskUpdate> updated, Map<Task, Integer> recounted) {
+
+    public TaskDelta {
+        removed = removed == null ? Set.of() : Set.copyOf(removed);
+        added = added == null ? Set.of() : Set.copyOf(added);
+        updated = updated == null ? Set.of() : Set.copyOf(updated);
+        recounted = recounted == null ? Map.of() : Map.copyOf(recounted);
+        for (Map.Entry<Task, Integer> entry : recounted.entrySet()) {
+            if (entry.getValue() < 1) {
+                throw new IllegalArgumentException("Occurrence count must be positive [ task=" + entry.getKey()
+                        + ", count=" + entry.getValue() + " ]");
+            }
+        }
+    }
+
+    /**
+     * Create a delta without occurrence count changes.
+     *
+     * @param removed tasks to remove (or that were removed)
+     * @param added   tasks to add (or that were added)
+     * @param updated tasks to replace by their edited version (or that were replaced)
+     */
+    public TaskDelta(Set<Task> removed, Set<Task> added, Set<TaskUpdate> updated) {
+        this(removed, added, updated, Map.of());
+    }
+
+    /**
+     * Create a delta without updates.
+     *
+     * @param removed tasks to remove (or that were removed)
+     * @param added   tasks to add (or that were added)
+     */
+    public TaskDelta(Set<Task> removed, Set<Task> added) {
+        this(removed, added, Set.of(), Map.of());
+    }
+
+    /**
+     * Compute the delta turning {@code current} into {@code target}.
+     *
+     * @param current tasks currently stored
+     * @param target  tasks that should be stored
+     * @return delta holding tasks missing from {@code target} as removed and tasks missing from {@code current} as added
+     */
+    public static TaskDelta between(Set<Task> current, Set<Task> target) {
+        Set<Task> removed = new HashSet<>();
+        for (Task task : current) {
+            if (!target.contains(task)) removed.add(task);
+        }
+        Set<Task> added = new HashSet<>();
+        for (Task task : target) {
+            if (!current.contains(task)) added.add(task);
+        }
+        return new TaskDelta(removed, added);
+    }
+
+    /**
+     * Compute the delta turning the content of {@code current} into the {@code target}
+     * occurrence counts, walking each of the two hash tables once.
+     *
+     * @param current snapshot of the tasks currently stored
+     * @param target  occurrence count of every task that should be stored
+     * @return delta holding tasks missing from {@code target} as removed, tasks missing from
+     * {@code current} as added and tasks whose occurrence count differs as recounted
+     */
+    public static TaskDelta between(TaskSnapshot current, Map<Task, Integer> target) {
+        Set<Task> removed = new HashSet<>();
+        Map<Task, Integer> recounted = new HashMap<>();
+        for (Task task : current.tasks()) {
+            Integer count = target.get(task);
+            if (count == null) {
+                removed.add(task);
+            } else if (count != current.count(task)) {
+                recounted.put(task, count);
+            }
+        }
+        Set<Task> added = new HashSet<>();
+        for (Map.Entry<Task, Integer> entry : target.entrySet()) {
+            if (!current.tasks().contains(entry.getKey())) {
+                added.add(entry.getKey());
+                if (entry.getValue() != 1) recounted.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new TaskDelta(removed, added, Set.of(), recounted);
+    }
+
+    /**
+     * @return the same changes with every update expressed as a removal and an addition
+     */
+    public TaskDelta flattened() {
+        if (updated.isEmpty()) {
+            return this;
+        }
+        Set<Task> allRemoved = new HashSet<>(removed);
+        Set<Task> allAdded = new HashSet<>(added);
+        for (TaskUpdate update : updated) {
+            allRemoved.add(update.before());
+            allAdded.add(update.after());
+        }
+        return new TaskDelta(allRemoved, allAdded, Set.of(), recounted);
+    }
+
+    /**
+     * @return true if the delta holds no changes
+     */
+    public boolean isEmpty() {
+        return removed.isEmpty() && added.isEmpty() && updated.isEmpty() && recounted.isEmpty();
+    }
+}
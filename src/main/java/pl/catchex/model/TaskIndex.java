@@ -0,0 +1,136 @@
+package pl.catchex.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable secondary indexes of a {@link TaskSnapshot}: tasks bucketed by
+ * {@link Task.Priority} and ordered by due date (overall and per priority).
+ * Tasks without a due date are only present in the priority buckets.
+ *
+ * <p>Every change produces a new index sharing all buckets that the change did not
+ * touch, so the cost of an update is proportional to the touched buckets and the
+ * number of distinct due dates rather than to a full rebuild.</p>
+ */
+final class TaskIndex {
+
+    static final TaskIndex EMPTY = new TaskIndex(new EnumMap<>(Task.Priority.class), new TreeMap<>(), new EnumMap<>(Task.Priority.class));
+
+    private final Map<Task.Priority, Set<Task>> byPriority;
+    private final NavigableMap<LocalDate, Set<Task>> byDueDate;
+    private final Map<Task.Priority, NavigableMap<LocalDate, Set<Task>>> byPriorityAndDueDate;
+
+    private TaskIndex(Map<Task.Priority, Set<Task>> byPriority,
+                      NavigableMap<LocalDate, Set<Task>> byDueDate,
+                      Map<Task.Priority, NavigableMap<LocalDate, Set<Task>>> byPriorityAndDueDate) {
+        this.byPriority = byPriority;
+        this.byDueDate = byDueDate;
+        this.byPriorityAndDueDate = byPriorityAndDueDate;
+    }
+
+    /**
+     * @param applied changes actually applied to the indexed content
+     * @return index of the content after the changes
+     */
+    TaskIndex with(TaskDelta applied) {
+        Map<Task.Priority, Set<Task>> priorities = new EnumMap<>(byPriority);
+        update(priorities, applied, Task::priority);
+
+        NavigableMap<LocalDate, Set<Task>> dueDates = new TreeMap<>(byDueDate);
+        update(dueDates, applied, Task::dueDate);
+
+        Map<Task.Priority, NavigableMap<LocalDate, Set<Task>>> prioritiesAndDueDates = new EnumMap<>(byPriorityAndDueDate);
+        for (Task.Priority priority : touchedPriorities(applied)) {
+            TaskDelta ofPriority = new TaskDelta(
+                    filter(applied.removed(), priority),
+                    filter(applied.added(), priority));
+            NavigableMap<LocalDate, Set<Task>> dates = new TreeMap<>(byPriorityAndDueDate.getOrDefault(priority, Collections.emptyNavigableMap()));
+            update(dates, ofPriority, Task::dueDate);
+            if (dates.isEmpty()) {
+                prioritiesAndDueDates.remove(priority);
+            } else {
+                prioritiesAndDueDates.put(priority, dates);
+            }
+        }
+        return new TaskIndex(priorities, dueDates, prioritiesAndDueDates);
+    }
+
+    Set<Task> byPriority(Task.Priority priority) {
+        return byPriority.getOrDefault(priority, Set.of());
+    }
+
+    List<Task> dueBetween(LocalDate fromInclusive, LocalDate toInclusive) {
+        return flatten(byDueDate, fromInclusive, toInclusive);
+    }
+
+    List<Task> dueBetween(Task.Priority priority, LocalDate fromInclusive, LocalDate toInclusive) {
+        return flatten(byPriorityAndDueDate.getOrDefault(priority, Collections.emptyNavigableMap()), fromInclusive, toInclusive);
+    }
+
+    private static List<Task> flatten(NavigableMap<LocalDate, Set<Task>> index, LocalDate fromInclusive, LocalDate toInclusive) {
+        if (fromInclusive.isAfter(toInclusive)) {
+            return List.of();
+        }
+        List<Task> result = new ArrayList<>();
+        for (Set<Task> bucket : index.subMap(fromInclusive, true, toInclusive, true).values()) {
+            result.addAll(bucket);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Replace every bucket touched by the delta with an updated copy; untouched buckets are shared.
+     * Tasks for which {@code key} returns null are not indexed.
+     */
+    private static <K> void update(Map<K, Set<Task>> index, TaskDelta delta, Function<Task, K> key) {
+        Map<K, Set<Task>> touched = new HashMap<>();
+        for (Task item : delta.removed()) {
+            K k = key.apply(item);
+            if (k != null) {
+                touched.computeIfAbsent(k, b -> new HashSet<>(index.getOrDefault(b, Set.of()))).remove(item);
+            }
+        }
+        for (Task item : delta.added()) {
+            K k = key.apply(item);
+            if (k != null) {
+                touched.computeIfAbsent(k, b -> new HashSet<>(index.getOrDefault(b, Set.of()))).add(item);
+            }
+        }
+        touched.forEach((k, bucket) -> {
+            if (bucket.isEmpty()) {
+                index.remove(k);
+            } else {
+                index.put(k, Collections.unmodifiableSet(bucket));
+            }
+        });
+    }
+
+    private static Set<Task.Priority> touchedPriorities(TaskDelta delta) {
+        Set<Task.Priority> priorities = new HashSet<>();
+        for (Task item : delta.removed()) {
+            if (item.dueDate() != null) priorities.add(item.priority());
+        }
+        for (Task item : delta.added()) {
+            if (item.dueDate() != null) priorities.add(item.priority());
+        }
+        return priorities;
+    }
+
+    private static Set<Task> filter(Set<Task> tasks, Task.Priority priority) {
+        Set<Task> result = new HashSet<>();
+        for (Task item : tasks) {
+            if (item.priority() == priority) result.add(item);
+        }
+        return result;
+    }
+}
@@ -1,26 +1,154 @@
 package pl.catchex.model;
 
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.HashSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Stores the current set of {@link Task} instances.
+ *
+ * <p>The same task may occur more than once (e.g. duplicated lines in the tasks file);
+ * the number of occurrences is tracked per task and changed through the
+ * {@link TaskDelta#recounted() recounted} part of a delta.</p>
+ *
+ * <p>The content is published as an immutable, versioned {@link TaskSnapshot} through a
+ * volatile reference. Reads never copy and never lock; every change builds a new set
+ * (copy-on-write) under a lock and publishes it with the next version number. Batch
+ * changes should go through {@link #apply(TaskDelta)} so that a whole synchronization
+ * costs a single copy.</p>
+ *
+ * <p>Each snapshot carries secondary indexes by {@link Task.Priority} and by due date,
+ * maintained incrementally on every change, which answer the {@code find*} queries in
+ * O(log n + k) instead of scanning all tasks.</p>
+ *
+ * <p>The deltas of the last {@value #DELTA_HISTORY_SIZE} versions are kept, so consumers
+ * can ask what changed since a version they have seen via {@link #changesSince(long)}.</p>
+ */
 public class TaskRepository {
     private static final Logger logger = LoggerFactory.getLogger(TaskRepository.class);
 
-    private final Set<Task> concurrentSet = ConcurrentHashMap.newKeySet();
+    static final int DELTA_HISTORY_SIZE = 64;
+
+    private volatile State state = new State(TaskSnapshot.EMPTY, TaskIndex.EMPTY);
 
     private final CopyOnWriteArraySet<TaskRepositoryListener> listeners = new CopyOnWriteArraySet<>();
 
+    private final Object writeLock = new Object();
+
+    // deltas of the most recent versions, oldest first; guarded by writeLock
+    private final Deque<VersionedDelta> history = new ArrayDeque<>();
+
     /**
      * Return a snapshot of all {@link Task} instances currently stored in the repository.
+     * The returned set is an unmodifiable view that is never changed afterwards.
      *
-     * @return a new Set containing all stored Task instances
+     * @return an unmodifiable Set containing all stored Task instances
      */
     public Set<Task> getAll() {
-        return new HashSet<>(concurrentSet);
+        return state.snapshot().tasks();
+    }
+
+    /**
+     * @return the current immutable snapshot together with its version
+     */
+    public TaskSnapshot snapshot() {
+        return state.snapshot();
+    }
+
+    /**
+     * @return version of the current content, incremented by every change
+     */
+    public long version() {
+        return state.snapshot().version();
+    }
+
+    /**
+     * Return the tasks of the given priority using the priority index.
+     *
+     * @param priority priority to look up
+     * @return unmodifiable set of matching tasks
+     */
+    public Set<Task> findByPriority(Task.Priority priority) {
+        return state.index().byPriority(priority);
+    }
+
+    /**
+     * Return the tasks due within the given date range using the due date index.
+     * Tasks without a due date are never returned.
+     *
+     * @param fromInclusive first due date of the range
+     * @param toInclusive   last due date of the range
+     * @return unmodifiable list of matching tasks ordered by due date
+     */
+    public List<Task> findDueBetween(LocalDate fromInclusive, LocalDate toInclusive) {
+        return state.index().dueBetween(fromInclusive, toInclusive);
+    }
+
+    /**
+     * Return the tasks of the given priority due within the given date range,
+     * e.g. HIGH tasks due within the next three days.
+     *
+     * @param priority      priority to look up
+     * @param fromInclusive first due date of the range
+     * @param toInclusive   last due date of the range
+     * @return unmodifiable list of matching tasks ordered by due date
+     */
+    public List<Task> findDueBetween(Task.Priority priority, LocalDate fromInclusive, LocalDate toInclusive) {
+        return state.index().dueBetween(priority, fromInclusive, toInclusive);
+    }
+
+    /**
+     * Return the combined changes made after the given version.
+     *
+     * @param version version previously obtained from {@link #version()} or {@link #snapshot()}
+     * @return the changes leading to the current version (edits are reported as a removal and an
+     * addition, occurrence count changes are not reported), or empty when the version is unknown
+     * or too old to be answered from the retained history (the caller should diff the full content then)
+     */
+    public Optional<TaskDelta> changesSince(long version) {
+        synchronized (writeLock) {
+            long current = state.snapshot().version();
+            if (version == current) {
+                return Optional.of(new TaskDelta(Set.of(), Set.of()));
+            }
+            if (version > current || history.isEmpty() || history.peekFirst().version() > version + 1) {
+                return Optional.empty();
+            }
+            Set<Task> removed = new HashSet<>();
+            Set<Task> added = new HashSet<>();
+            for (Iterator<VersionedDelta> it = history.iterator(); it.hasNext(); ) {
+                VersionedDelta entry = it.next();
+                if (entry.version() <= version) {
+                    continue;
+                }
+                TaskDelta flat = entry.delta().flattened();
+                for (Task item : flat.removed()) {
+                    if (!added.remove(item)) removed.add(item);
+                }
+                for (Task item : flat.added()) {
+                    if (!removed.remove(item)) added.add(item);
+                }
+            }
+            return Optional.of(new TaskDelta(removed, added));
+        }
+    }
+
+    /**
+     * @param item {@link Task} to look up
+     * @return number of occurrences of the item, 0 if it is not present
+     */
+    public int count(Task item) {
+        return state.snapshot().count(item);
     }
 
     /**
@@ -30,7 +158,7 @@ public class TaskRepository {
      * @return true if the item is present, false otherwise
      */
     public boolean contains(Task item){
-        return concurrentSet.contains(item);
+        return state.snapshot().tasks().contains(item);
     }
 
     /**
@@ -38,10 +166,11 @@ public class TaskRepository {
      * registered listeners will be notified.
      *
      * @param item {@link Task} to add
-     * @return true if the item was added (it was not present previously)
+     * @return true if the item was added (it was not present previously, an item already
+     * present keeps its number of occurrences)
      */
     public boolean add(Task item){
-        boolean added = concurrentSet.add(item);
+        boolean added = !commit(new TaskDelta(Set.of(), Set.of(item))).isEmpty();
         if (added) {
             // notify listeners only when the item was actually added
             for (TaskRepositoryListener l : listeners) {
@@ -61,10 +190,10 @@ public class TaskRepository {
      * registered listeners will be notified.
      *
      * @param item {@link Task} to remove
-     * @return true if the item was removed (it was present before)
+     * @return true if the item was removed (it was present before), together with all its occurrences
      */
     public boolean remove(Task item){
-        boolean removed = concurrentSet.remove(item);
+        boolean removed = !commit(new TaskDelta(Set.of(item), Set.of())).isEmpty();
         if (removed) {
             for (TaskRepositoryListener l : listeners) {
                 try {
@@ -78,6 +207,115 @@ public class TaskRepository {
         return removed;
     }
 
+    /**
+     * Apply all removals and additions of the delta as one operation and notify the
+     * registered listeners once through {@link TaskRepositoryListener#onTasksChanged(TaskDelta)}.
+     * Removals are applied before additions; tasks that were not present (for removal) or
+     * already present (for addition) are left out of the delta passed to listeners. An update
+     * whose original task is missing or whose edited task is already present is applied as a
+     * removal and an addition instead. Occurrence counts are applied to tasks present after the
+     * removals and additions, recounts of other tasks or to an unchanged count are left out.
+     * Readers observe either the content before or after the whole delta.
+     *
+     * @param delta changes to apply
+     * @return the changes that were actually applied
+     */
+    public TaskDelta apply(TaskDelta delta) {
+        TaskDelta applied = commit(delta);
+        if (!applied.isEmpty()) {
+            for (TaskRepositoryListener l : listeners) {
+                try {
+                    l.onTasksChanged(applied);
+                } catch (Exception ex) {
+                    // protect repository from listener exception - log it
+                    logger.warn("Listener threw exception for delta [ removed={}, added={}, recounted={} ]: {}",
+                            applied.removed().size(), applied.added().size(), applied.recounted().size(), ex.getMessage(), ex);
+                }
+            }
+        }
+        return applied;
+    }
+
+    private TaskDelta commit(TaskDelta delta) {
+        synchronized (writeLock) {
+            State currentState = state;
+            TaskSnapshot current = currentState.snapshot();
+            Set<TaskUpdate> updated = new HashSet<>();
+            Set<Task> edited = new HashSet<>();
+            Set<Task> toRemove = new HashSet<>(delta.removed());
+            Set<Task> toAdd = new HashSet<>(delta.added());
+            for (TaskUpdate update : delta.updated()) {
+                if (current.tasks().contains(update.before()) && !current.tasks().contains(update.after())
+                        && !edited.contains(update.before()) && !edited.contains(update.after())) {
+                    // marked only once accepted, a rejected update must not hide its tasks from the fallback
+                    edited.add(update.before());
+                    edited.add(update.after());
+                    updated.add(update);
+                } else {
+                    // not applicable as an edit, fall back to a removal and an addition
+                    toRemove.add(update.before());
+                    toAdd.add(update.after());
+                }
+            }
+            Set<Task> removed = new HashSet<>();
+            Set<Task> added = new HashSet<>();
+            for (Task item : toRemove) {
+                // a task removed and re-added by the same delta stays unchanged
+                if (current.tasks().contains(item) && !toAdd.contains(item) && !edited.contains(item)) {
+                    removed.add(item);
+                }
+            }
+            for (Task item : toAdd) {
+                if (!current.tasks().contains(item) && !edited.contains(item)) {
+                    added.add(item);
+                }
+            }
+
+            Set<Task> afters = new HashSet<>();
+            for (TaskUpdate update : updated) {
+                afters.add(update.after());
+            }
+            Map<Task, Integer> recounted = new HashMap<>();
+            for (Map.Entry<Task, Integer> entry : delta.recounted().entrySet()) {
+                Task item = entry.getKey();
+                boolean fresh = added.contains(item) || afters.contains(item);
+                boolean kept = current.tasks().contains(item) && !removed.contains(item) && !edited.contains(item);
+                // new tasks occur once unless recounted
+                if ((fresh && entry.getValue() != 1) || (kept && entry.getValue() != current.count(item))) {
+                    recounted.put(item, entry.getValue());
+                }
+            }
+
+            TaskDelta applied = new TaskDelta(removed, added, updated, recounted);
+            if (applied.isEmpty()) {
+                return applied;
+            }
+
+            TaskDelta flat = applied.flattened();
+            Set<Task> tasks = current.tasks();
+            TaskIndex index = currentState.index();
+            if (!flat.removed().isEmpty() || !flat.added().isEmpty()) {
+                tasks = new HashSet<>(current.tasks());
+                tasks.removeAll(flat.removed());
+                tasks.addAll(flat.added());
+                index = index.with(flat);
+            }
+            Map<Task, Integer> multiples = new HashMap<>(current.multiples());
+            multiples.keySet().removeAll(flat.removed());
+            recounted.forEach((item, count) -> {
+                if (count > 1) multiples.put(item, count); else multiples.remove(item);
+            });
+            long version = current.version() + 1;
+            state = new State(new TaskSnapshot(version, tasks, multiples), index);
+
+            history.addLast(new VersionedDelta(version, applied));
+            if (history.size() > DELTA_HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            return applied;
+        }
+    }
+
     /**
      * Register a listener to be notified of repository changes.
      *
@@ -101,4 +339,11 @@ public class TaskRepository {
             logger.debug("Listener removed: {}", listener);
         }
     }
+
+    private record VersionedDelta(long version, TaskDelta delta) {
+    }
+
+    // snapshot and its indexes are published together so readers never see them out of sync
+    private record State(TaskSnapshot snapshot, TaskIndex index) {
+    }
 }
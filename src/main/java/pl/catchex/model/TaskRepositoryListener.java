@@ -3,5 +3,41 @@ package pl.catchex.model;
 public interface TaskRepositoryListener {
     void onTaskAdded(Task item);
     void onTaskRemoved(Task item);
-}
 
+    /**
+     * Called when a task was edited in place. The default implementation treats the edit
+     * as a removal followed by an addition.
+     *
+     * @param before task as stored before the edit
+     * @param after  task as stored after the edit
+     */
+    default void onTaskUpdated(Task before, Task after) {
+        onTaskRemoved(before);
+        onTaskAdded(after);
+    }
+
+    /**
+     * Called when the number of occurrences of a stored task changed, e.g. a duplicated
+     * line was deleted, or when an added or edited task occurs more than once. The default
+     * implementation does nothing.
+     *
+     * @param item  task whose occurrences changed
+     * @param count new number of occurrences, at least 1
+     */
+    default void onTaskCountChanged(Task item, int count) {
+    }
+
+    /**
+     * Called once per {@link TaskRepository#apply(TaskDelta)} with the changes that were
+     * actually applied. The default implementation falls back to the per-item callbacks:
+     * removals first, then updates, then additions, then occurrence count changes.
+     *
+     * @param delta applied changes, never empty
+     */
+    default void onTasksChanged(TaskDelta delta) {
+        delta.removed().forEach(this::onTaskRemoved);
+        delta.updated().forEach(update -> onTaskUpdated(update.before(), update.after()));
+        delta.added().forEach(this::onTaskAdded);
+        delta.recounted().forEach(this::onTaskCountChanged);
+    }
+}
@@ -0,0 +1,48 @@
+package pl.catchex.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable state of a {@link TaskRepository} at a given version.
+ *
+ * <p>The content is a multiset: the same task may occur on several lines of the tasks
+ * file. Only the tasks occurring more than once are kept in {@code multiples}, every other
+ * task in {@code tasks} occurs exactly once.</p>
+ *
+ * @param version   version number, incremented by every change of the repository
+ * @param tasks     unmodifiable set of the distinct tasks stored at that version
+ * @param multiples unmodifiable occurrence counts of the tasks stored more than once
+ */
+public record TaskSnapshot(long version, Set<Task> tasks, Map<Task, Integer> multiples) {
+
+    static final TaskSnapshot EMPTY = new TaskSnapshot(0, Set.of());
+
+    public TaskSnapshot {
+        tasks = Collections.unmodifiableSet(tasks);
+        multiples = multiples == null ? Map.of() : Collections.unmodifiableMap(multiples);
+    }
+
+    /**
+     * Create a snapshot in which every task occurs once.
+     *
+     * @param version version number
+     * @param tasks   tasks stored at that version
+     */
+    public TaskSnapshot(long version, Set<Task> tasks) {
+        this(version, tasks, Map.of());
+    }
+
+    /**
+     * @param task task to look up
+     * @return number of occurrences of the task, 0 when it is not stored
+     */
+    public int count(Task task) {
+        Integer count = multiples.get(task);
+        if (count != null) {
+            return count;
+        }
+        return tasks.contains(task) ? 1 : 0;
+    }
+}
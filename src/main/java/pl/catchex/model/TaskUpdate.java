@@ -0,0 +1,18 @@
+package pl.catchex.model;
+
+import java.util.Objects;
+
+/**
+ * A task that was edited in place: the same logical task (same line, similar text) now
+ * carries different content, e.g. a changed priority or due date.
+ *
+ * @param before task as stored before the edit
+ * @param after  task as stored after the edit
+ */
+public record TaskUpdate(Task before, Task after) {
+
+    public TaskUpdate {
+        Objects.requireNonNull(before, "before must not be null");
+        Objects.requireNonNull(after, "after must not be null");
+    }
+}
@@ -0,0 +1,141 @@
+package pl.catchex.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recognizes edited tasks in a {@link TaskDelta}: removed and added tasks that are the
+ * same logical task are paired into a {@link TaskUpdate}, so changing the priority or due
+ * date of a line is not seen as a removal plus an addition.
+ *
+ * <p>The identity of a task is derived from its description and its line position in the
+ * tasks file. A removed and an added task with the same description are the same task;
+ * when the description occurs more than once the closest lines are paired. Remaining tasks
+ * are paired when their descriptions are similar (normalized edit distance of at least
+ * {@value #SIMILARITY}), or at least {@value #SAME_LINE_SIMILARITY} for tasks that stayed
+ * on the same line, most similar pairs first. The quadratic similarity pass is skipped for
+ * deltas with more than {@value #MAX_FUZZY_PAIRS} candidate pairs.</p>
+ */
+public final class TaskUpdateMatcher {
+
+    static final double SIMILARITY = 0.8;
+    static final double SAME_LINE_SIMILARITY = 0.5;
+    static final int MAX_FUZZY_PAIRS = 4096;
+
+    private TaskUpdateMatcher() {
+    }
+
+    /**
+     * @param delta             delta computed from the content only
+     * @param previousPositions line positions of the tasks before the change (removed tasks are looked up here)
+     * @param currentPositions  line positions of the tasks after the change (added tasks are looked up here)
+     * @return delta in which recognized edits are moved from removed/added to updated
+     */
+    public static TaskDelta match(TaskDelta delta, Map<Task, Integer> previousPositions, Map<Task, Integer> currentPositions) {
+        if (delta.removed().isEmpty() || delta.added().isEmpty()) {
+            return delta;
+        }
+        Set<Task> removed = new HashSet<>(delta.removed());
+        List<Task> added = new ArrayList<>(delta.added());
+        added.sort(Comparator.comparingInt(task -> position(currentPositions, task)));
+        Set<TaskUpdate> updated = new HashSet<>(delta.updated());
+
+        matchSameDescription(removed, added, updated, previousPositions, currentPositions);
+        if ((long) removed.size() * added.size() <= MAX_FUZZY_PAIRS) {
+            matchSimilarDescription(removed, added, updated, previousPositions, currentPositions);
+        }
+        return new TaskDelta(removed, new HashSet<>(added), updated, delta.recounted());
+    }
+
+    private static void matchSameDescription(Set<Task> removed, List<Task> added, Set<TaskUpdate> updated,
+                                             Map<Task, Integer> previousPositions, Map<Task, Integer> currentPositions) {
+        Map<String, List<Task>> removedByDescription = new HashMap<>();
+        for (Task task : removed) {
+            removedByDescription.computeIfAbsent(task.task(), d -> new ArrayList<>()).add(task);
+        }
+        for (Iterator<Task> it = added.iterator(); it.hasNext(); ) {
+            Task after = it.next();
+            List<Task> candidates = removedByDescription.get(after.task());
+            if (candidates == null || candidates.isEmpty()) {
+                continue;
+            }
+            int line = position(currentPositions, after);
+            Task before = candidates.stream()
+                    .min(Comparator.comparingLong(candidate -> distance(position(previousPositions, candidate), line)))
+                    .orElseThrow();
+            candidates.remove(before);
+            removed.remove(before);
+            it.remove();
+            updated.add(new TaskUpdate(before, after));
+        }
+    }
+
+    private static void matchSimilarDescription(Set<Task> removed, List<Task> added, Set<TaskUpdate> updated,
+                                                Map<Task, Integer> previousPositions, Map<Task, Integer> currentPositions) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (Task before : removed) {
+            int previousLine = position(previousPositions, before);
+            for (Task after : added) {
+                int currentLine = position(currentPositions, after);
+                boolean sameLine = previousLine != Integer.MAX_VALUE && previousLine == currentLine;
+                double similarity = similarity(before.task(), after.task());
+                if (similarity >= SIMILARITY || (sameLine && similarity >= SAME_LINE_SIMILARITY)) {
+                    candidates.add(new Candidate(before, after, similarity, distance(previousLine, currentLine)));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::similarity).reversed()
+                .thenComparingLong(Candidate::distance));
+        for (Candidate candidate : candidates) {
+            if (removed.contains(candidate.before()) && added.contains(candidate.after())) {
+                removed.remove(candidate.before());
+                added.remove(candidate.after());
+                updated.add(new TaskUpdate(candidate.before(), candidate.after()));
+            }
+        }
+    }
+
+    /**
+     * @return 1 minus the Levenshtein distance divided by the length of the longer text
+     */
+    static double similarity(String a, String b) {
+        int longer = Math.max(a.length(), b.length());
+        if (longer == 0) {
+            return 1.0;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return 1.0 - (double) previous[b.length()] / longer;
+    }
+
+    private static int position(Map<Task, Integer> positions, Task task) {
+        Integer position = positions.get(task);
+        return position == null ? Integer.MAX_VALUE : position;
+    }
+
+    private static long distance(int previousLine, int currentLine) {
+        return Math.abs((long) previousLine - currentLine);
+    }
+
+    private record Candidate(Task before, Task after, double similarity, long distance) {
+    }
+}
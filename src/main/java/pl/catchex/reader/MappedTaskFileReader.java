@@ -0,0 +1,174 @@
+package pl.catchex.reader;
+
+import pl.catchex.common.ContentHash;
+import pl.catchex.model.Task;
+import pl.catchex.reader.lineparser.TaskLineParserDispatcher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads tasks from a memory-mapped file, working on raw UTF-8 bytes.
+ *
+ * <p>Lines are split on {@code '\n'}, {@code '\r'} and {@code "\r\n"} (the same
+ * terminators {@link java.io.BufferedReader#readLine()} recognizes) and the task
+ * prefix {@code "- [ ]"} is matched on bytes. Only lines that carry the prefix are
+ * decoded into a {@link String} and handed to the {@link TaskLineParserDispatcher};
+ * headings, prose and checked items are skipped without any allocation. As a
+ * consequence malformed UTF-8 is reported only when it occurs in a task line.</p>
+ *
+ * <p>Task lines are looked up in a {@link TaskLineCache} by the hash of their bytes
+ * first, so lines that did not change since the previous read are neither decoded
+ * nor parsed again.</p>
+ *
+ * <p>Large files are mapped in windows of {@link #MAPPING_WINDOW_SIZE} bytes; a line
+ * that does not fit into one window is carried over to the next one.</p>
+ *
+ * <p>A file truncated while it is mapped makes the JVM raise an {@link InternalError}
+ * (SIGBUS) on the first access past the new end, or zero-filled bytes within the last
+ * page. Both cases are reported as an {@link IOException}: the size is checked again
+ * after every window, and the read is retried by the next file event.</p>
+ */
+class MappedTaskFileReader {
+
+    static final int MAPPING_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private static final byte[] TASK_PREFIX = "- [ ]".getBytes(StandardCharsets.US_ASCII);
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final TaskLineParserDispatcher taskLineParserDispatcher;
+
+    MappedTaskFileReader(TaskLineParserDispatcher taskLineParserDispatcher) {
+        this.taskLineParserDispatcher = taskLineParserDispatcher;
+    }
+
+    /**
+     * Map the file and push every parsed task to the consumer in file order.
+     *
+     * @param path     file to read
+     * @param pass     cache pass used to reuse unchanged lines
+     * @param consumer consumer receiving parsed tasks
+     * @throws IOException when mapping the file fails, the file is truncated during the read or a task
+     *                     line is not valid UTF-8
+     */
+    void read(Path path, TaskLineCache.Pass pass, Consumer<? super Task> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+            long position = 0;
+            while (position < size) {
+                long windowSize = Math.min(MAPPING_WINDOW_SIZE, size - position);
+                boolean lastWindow = position + windowSize == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+                int consumed;
+                try {
+                    consumed = parseLines(window, 0, (int) windowSize, lastWindow, decoder, pass, consumer);
+                } catch (InternalError e) {
+                    throw truncated(path, e);
+                }
+                checkNotTruncated(channel, position + windowSize, path);
+                if (consumed == 0) {
+                    throw new IOException("Line longer than " + MAPPING_WINDOW_SIZE + " bytes at offset " + position + " in " + path);
+                }
+                position += consumed;
+            }
+        }
+    }
+
+    /**
+     * @param channel channel of the mapped file
+     * @param end     end offset of the window that was parsed
+     * @param path    mapped file
+     * @throws IOException when the file is now shorter than {@code end}, so the window may have been read past its end
+     */
+    static void checkNotTruncated(FileChannel channel, long end, Path path) throws IOException {
+        if (channel.size() < end) {
+            throw truncated(path, null);
+        }
+    }
+
+    /**
+     * @param path  mapped file
+     * @param cause error raised by an access past the end of the file (may be null)
+     * @return exception reporting that the file was truncated while mapped
+     */
+    static IOException truncated(Path path, Throwable cause) {
+        return new IOException("File truncated while mapped [ path=" + path + " ]", cause);
+    }
+
+    /**
+     * Parse the complete lines found in {@code [from, to)} of the buffer.
+     *
+     * @param buffer     buffer holding UTF-8 encoded lines
+     * @param from       index of the first byte of the first line
+     * @param to         index after the last byte to scan
+     * @param endOfInput whether {@code to} is the end of the file (a trailing line without terminator is then complete)
+     * @param decoder    decoder used for task lines
+     * @param pass       cache pass used to reuse unchanged lines
+     * @param consumer   consumer receiving parsed tasks
+     * @return number of bytes consumed, i.e. up to the end of the last complete line
+     * @throws CharacterCodingException when a task line is not valid UTF-8
+     */
+    int parseLines(ByteBuffer buffer, int from, int to, boolean endOfInput, CharsetDecoder decoder,
+                   TaskLineCache.Pass pass, Consumer<? super Task> consumer) throws CharacterCodingException {
+        int lineStart = from;
+        int i = from;
+        while (i < to) {
+            byte b = buffer.get(i);
+            if (b == LF || b == CR) {
+                if (b == CR && i + 1 == to && !endOfInput) {
+                    // cannot tell "\r" from "\r\n" yet, leave the line for the next window
+                    break;
+                }
+                parseLine(buffer, lineStart, i, decoder, pass, consumer);
+                i += (b == CR && i + 1 < to && buffer.get(i + 1) == LF) ? 2 : 1;
+                lineStart = i;
+            } else {
+                i++;
+            }
+        }
+        if (endOfInput && lineStart < to) {
+            parseLine(buffer, lineStart, to, decoder, pass, consumer);
+            lineStart = to;
+        }
+        return lineStart - from;
+    }
+
+    private void parseLine(ByteBuffer buffer, int start, int end, CharsetDecoder decoder,
+                           TaskLineCache.Pass pass, Consumer<? super Task> consumer) throws CharacterCodingException {
+        if (!hasTaskPrefix(buffer, start, end)) {
+            return;
+        }
+        long hash = ContentHash.of(buffer, start, end);
+        TaskLineCache.LineResult result = pass.lookup(hash, end - start);
+        if (result.unseen()) {
+            CharBuffer chars = decoder.decode(buffer.slice(start, end - start));
+            result = TaskLineCache.LineResult.of(taskLineParserDispatcher.parse(chars.toString()));
+            pass.store(hash, end - start, result);
+        }
+        result.task().ifPresent(consumer);
+    }
+
+    private static boolean hasTaskPrefix(ByteBuffer buffer, int start, int end) {
+        if (end - start < TASK_PREFIX.length) {
+            return false;
+        }
+        for (int k = 0; k < TASK_PREFIX.length; k++) {
+            if (buffer.get(start + k) != TASK_PREFIX[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
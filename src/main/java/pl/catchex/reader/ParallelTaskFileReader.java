@@ -0,0 +1,197 @@
+package pl.catchex.reader;
+
+import pl.catchex.model.Task;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Reads tasks from a memory-mapped file by parsing line-aligned chunks in parallel
+ * on a {@link ForkJoinPool}.
+ *
+ * <p>The mapped window is cut into chunks right after a {@code '\n'} byte, so every
+ * chunk holds complete lines. Each chunk is parsed by {@link MappedTaskFileReader}
+ * into its own list and the lists are handed to the consumer in chunk order, which
+ * keeps the result identical to a sequential read.</p>
+ *
+ * <p>Truncation of the file during the read is reported as an {@link IOException},
+ * as in {@link MappedTaskFileReader}.</p>
+ */
+class ParallelTaskFileReader {
+
+    static final int DEFAULT_MIN_CHUNK_SIZE = 1024 * 1024;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final MappedTaskFileReader mappedReader;
+    private final ForkJoinPool pool;
+    private final int minChunkSize;
+
+    ParallelTaskFileReader(MappedTaskFileReader mappedReader) {
+        this(mappedReader, ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    ParallelTaskFileReader(MappedTaskFileReader mappedReader, ForkJoinPool pool, int minChunkSize) {
+        this.mappedReader = mappedReader;
+        this.pool = pool;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Map the file, parse its chunks in parallel and push every task to the consumer in file order.
+     *
+     * @param path     file to read
+     * @param pass     cache pass used to reuse unchanged lines
+     * @param consumer consumer receiving parsed tasks
+     * @throws IOException when mapping the file fails, the file is truncated during the read or a task
+     *                     line is not valid UTF-8
+     */
+    void read(Path path, TaskLineCache.Pass pass, Consumer<? super Task> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long windowSize = Math.min(MappedTaskFileReader.MAPPING_WINDOW_SIZE, size - position);
+                boolean lastWindow = position + windowSize == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+                int limit;
+                List<List<Task>> chunks;
+                try {
+                    limit = lastWindow ? (int) windowSize : afterLastLineFeed(window, (int) windowSize);
+                    if (limit == 0) {
+                        throw new IOException("Line longer than " + MappedTaskFileReader.MAPPING_WINDOW_SIZE + " bytes at offset " + position + " in " + path);
+                    }
+                    chunks = parseInParallel(window, limit, pass);
+                } catch (InternalError e) {
+                    throw MappedTaskFileReader.truncated(path, e);
+                }
+                // tasks parsed from a window read past the end of the file are not handed out
+                MappedTaskFileReader.checkNotTruncated(channel, position + windowSize, path);
+                for (List<Task> chunk : chunks) {
+                    chunk.forEach(consumer);
+                }
+                position += limit;
+            }
+        }
+    }
+
+    /**
+     * @return tasks of every chunk, in chunk order
+     */
+    List<List<Task>> parseInParallel(ByteBuffer buffer, int limit, TaskLineCache.Pass pass) throws IOException {
+        int[] bounds = chunkBounds(buffer, limit);
+        List<List<Task>> results = new ArrayList<>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; i++) {
+            results.add(null);
+        }
+
+        try {
+            pool.invoke(new ChunkTask(buffer, bounds, 0, bounds.length - 1, pass, results));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return results;
+    }
+
+    /**
+     * Split {@code [0, limit)} into chunks that start right after a {@code '\n'}.
+     *
+     * @return ascending chunk boundaries, starting with 0 and ending with {@code limit}
+     */
+    int[] chunkBounds(ByteBuffer buffer, int limit) {
+        int targetChunks = Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD);
+        int chunkSize = Math.max(minChunkSize, limit / targetChunks + 1);
+
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        int next = chunkSize;
+        while (next < limit) {
+            int boundary = afterNextLineFeed(buffer, next, limit);
+            if (boundary >= limit) {
+                break;
+            }
+            bounds.add(boundary);
+            next = boundary + chunkSize;
+        }
+        bounds.add(limit);
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int afterNextLineFeed(ByteBuffer buffer, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    private static int afterLastLineFeed(ByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient ByteBuffer buffer;
+        private final int[] bounds;
+        private final int fromChunk;
+        private final int toChunk;
+        private final transient TaskLineCache.Pass pass;
+        private final transient List<List<Task>> results;
+
+        ChunkTask(ByteBuffer buffer, int[] bounds, int fromChunk, int toChunk, TaskLineCache.Pass pass, List<List<Task>> results) {
+            this.buffer = buffer;
+            this.bounds = bounds;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.pass = pass;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                results.set(fromChunk, parseChunk(fromChunk));
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(
+                    new ChunkTask(buffer, bounds, fromChunk, middle, pass, results),
+                    new ChunkTask(buffer, bounds, middle, toChunk, pass, results)
+            );
+        }
+
+        private List<Task> parseChunk(int chunk) {
+            List<Task> tasks = new ArrayList<>();
+            try {
+                // every chunk ends on a line boundary, so it can be parsed as complete input
+                mappedReader.parseLines(buffer.duplicate(), bounds[chunk], bounds[chunk + 1], true,
+                        StandardCharsets.UTF_8.newDecoder(), pass, tasks::add);
+            } catch (CharacterCodingException e) {
+                throw new UncheckedIOException(e);
+            }
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package pl.catchex.reader;
+
+import pl.catchex.model.Task;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of parsed task lines keyed by a 64-bit content hash and the line length.
+ *
+ * <p>Every read of the tasks file runs as one {@link Pass}. Lines whose content was
+ * already seen in the previous pass reuse the cached result, so only edited lines
+ * are decoded and parsed again. When a pass completes it replaces the previous
+ * generation, which drops lines that disappeared from the file. A pass that fails
+ * is simply abandoned and the previous generation stays in place.</p>
+ *
+ * <p>Lookups trust the (hash, length) pair; with a 64-bit hash a collision between
+ * two different lines of one file is practically impossible.</p>
+ */
+class TaskLineCache {
+
+    private volatile Map<LineKey, LineResult> previous = new ConcurrentHashMap<>();
+
+    /**
+     * Start a new read pass backed by the generation of the last completed pass.
+     */
+    Pass beginPass() {
+        return new Pass(previous);
+    }
+
+    /**
+     * Forget every cached line, e.g. after the parsing rules changed.
+     */
+    void clear() {
+        previous = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return number of lines cached by the last completed pass
+     */
+    int size() {
+        return previous.size();
+    }
+
+    /**
+     * A single read of the tasks file. Safe to use from several threads at once.
+     */
+    final class Pass {
+        private final Map<LineKey, LineResult> last;
+        private final Map<LineKey, LineResult> current = new ConcurrentHashMap<>();
+
+        private Pass(Map<LineKey, LineResult> last) {
+            this.last = last;
+        }
+
+        /**
+         * @return cached parse result of the line, or {@link LineResult#UNSEEN} when the line has not been seen
+         */
+        LineResult lookup(long hash, int length) {
+            LineKey key = new LineKey(hash, length);
+            LineResult result = current.get(key);
+            if (result == null) {
+                result = last.get(key);
+                if (result == null) {
+                    return LineResult.UNSEEN;
+                }
+                current.put(key, result);
+            }
+            return result;
+        }
+
+        void store(long hash, int length, LineResult result) {
+            current.put(new LineKey(hash, length), result);
+        }
+
+        /**
+         * Publish this pass as the generation the next pass will reuse.
+         */
+        void complete() {
+            previous = current;
+        }
+    }
+
+    /**
+     * Parse result of a line: the task it holds, {@link #NOT_A_TASK} for a line that does not
+     * parse into a task, or {@link #UNSEEN} for a line that is not cached.
+     */
+    static final class LineResult {
+        static final LineResult UNSEEN = new LineResult(Optional.empty());
+        static final LineResult NOT_A_TASK = new LineResult(Optional.empty());
+
+        private final Optional<Task> task;
+
+        private LineResult(Optional<Task> task) {
+            this.task = task;
+        }
+
+        /**
+         * @param parsed result of parsing the line
+         * @return result to cache for the line
+         */
+        static LineResult of(Optional<Task> parsed) {
+            return parsed.isPresent() ? new LineResult(parsed) : NOT_A_TASK;
+        }
+
+        boolean unseen() {
+            return this == UNSEEN;
+        }
+
+        Optional<Task> task() {
+            return task;
+        }
+    }
+
+    private record LineKey(long hash, int length) {
+    }
+}
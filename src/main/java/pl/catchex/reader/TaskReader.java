@@ -1,34 +1,107 @@
 package pl.catchex.reader;
 
+import pl.catchex.common.ContentHash;
+import pl.catchex.config.reader.taskConfiguration.ReadMode;
 import pl.catchex.model.Task;
 import pl.catchex.reader.lineparser.TaskLineParserDispatcher;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 /**
  * Component responsible for reading {@link Task} instances from a text file and
  * converting each text line into a {@link Task} using the provided
  * {@link TaskLineParserDispatcher}.
+ *
+ * <p>The file is decoded in bounded chunks and parsed line by line, so the whole
+ * content is never held in memory. Parsed tasks are pushed straight to a
+ * consumer or collector. In {@link ReadMode#MAPPED} mode the file is memory-mapped
+ * and only task lines are decoded (see {@link MappedTaskFileReader}). In
+ * {@link ReadMode#PARALLEL} mode files of at least {@code parallelThresholdBytes}
+ * are additionally parsed in line-aligned chunks on a fork-join pool
+ * (see {@link ParallelTaskFileReader}).</p>
+ *
+ * <p>Parse results are kept per line content in a {@link TaskLineCache}. A read
+ * reuses the cached {@link Task} of every line that did not change since the
+ * previous read, so re-parsing cost follows the size of an edit rather than the
+ * size of the file.</p>
  */
 public class TaskReader {
 
-    private final TaskLineParserDispatcher taskLineParserDispatcher;
+    static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final String TASK_ITEM_LINE_PREFIX = "- [ ]";
+
+    static final long DEFAULT_PARALLEL_THRESHOLD_BYTES = 8L * 1024 * 1024;
 
     private final Path tasksPath;
 
+    private final ReadMode readMode;
+
+    private final long parallelThresholdBytes;
+
+    // guarded by this, replaced together with the line cache
+    private Parsers parsers;
+
+    private final TaskLineCache lineCache = new TaskLineCache();
+
     /**
-     * Create a new TaskReader.
+     * Create a new TaskReader working in {@link ReadMode#STREAMING} mode.
      *
      * @param taskLineParserDispatcher dispatcher used to parse individual lines
      * @param tasksPath             path to file with tasks
      */
     public TaskReader(TaskLineParserDispatcher taskLineParserDispatcher, Path tasksPath){
-        this.taskLineParserDispatcher = taskLineParserDispatcher;
+        this(taskLineParserDispatcher, tasksPath, ReadMode.STREAMING);
+    }
+
+    /**
+     * Create a new TaskReader.
+     *
+     * @param taskLineParserDispatcher dispatcher used to parse individual lines
+     * @param tasksPath             path to file with tasks
+     * @param readMode              strategy used to load the file ({@code null} means {@link ReadMode#STREAMING})
+     */
+    public TaskReader(TaskLineParserDispatcher taskLineParserDispatcher, Path tasksPath, ReadMode readMode){
+        this(taskLineParserDispatcher, tasksPath, readMode, DEFAULT_PARALLEL_THRESHOLD_BYTES);
+    }
+
+    /**
+     * Create a new TaskReader.
+     *
+     * @param taskLineParserDispatcher dispatcher used to parse individual lines
+     * @param tasksPath             path to file with tasks
+     * @param readMode              strategy used to load the file ({@code null} means {@link ReadMode#STREAMING})
+     * @param parallelThresholdBytes minimal file size parsed in parallel in {@link ReadMode#PARALLEL} mode
+     *                               (values {@code <= 0} select the default of 8 MiB)
+     */
+    public TaskReader(TaskLineParserDispatcher taskLineParserDispatcher, Path tasksPath, ReadMode readMode, long parallelThresholdBytes){
         this.tasksPath = tasksPath;
+        this.readMode = readMode == null ? ReadMode.STREAMING : readMode;
+        this.parallelThresholdBytes = parallelThresholdBytes > 0 ? parallelThresholdBytes : DEFAULT_PARALLEL_THRESHOLD_BYTES;
+        this.parsers = Parsers.of(taskLineParserDispatcher);
+    }
+
+    /**
+     * Replace the dispatcher used to parse lines, e.g. after the date format or the
+     * priority symbols were reconfigured. Cached parse results are dropped, so the
+     * next read parses every line with the new dispatcher.
+     *
+     * @param taskLineParserDispatcher dispatcher used to parse individual lines from now on
+     */
+    public synchronized void replaceParser(TaskLineParserDispatcher taskLineParserDispatcher) {
+        this.parsers = Parsers.of(taskLineParserDispatcher);
+        lineCache.clear();
     }
 
     /**
@@ -38,24 +111,108 @@ public class TaskReader {
      * @throws IOException when reading the file fails
      */
     public List<Task> read() throws IOException {
-        return read(this.tasksPath);
+        return read(Collectors.<Task>toList());
     }
 
-    private List<Task> read(Path path) throws IOException {
-        List<String> lines = readAllLines(path);
-        return parseLines(lines);
+    /**
+     * Read all {@link Task} instances from the configured file and accumulate them
+     * with the given collector, without building an intermediate list.
+     *
+     * @param collector collector receiving parsed tasks in file order
+     * @return the collector's result
+     * @throws IOException when reading the file fails
+     */
+    public <A, R> R read(Collector<? super Task, A, R> collector) throws IOException {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super Task> accumulator = collector.accumulator();
+        read(task -> accumulator.accept(container, task));
+        return collector.finisher().apply(container);
+    }
+
+    /**
+     * Stream all {@link Task} instances from the configured file to the given consumer.
+     * Heap use does not depend on the file size in any {@link ReadMode}.
+     *
+     * @param consumer consumer receiving parsed tasks in file order
+     * @throws IOException when reading the file fails
+     */
+    public synchronized void read(Consumer<? super Task> consumer) throws IOException {
+        TaskLineCache.Pass pass = lineCache.beginPass();
+        Parsers current = parsers;
+        switch (readMode) {
+            case STREAMING -> readStreaming(current.dispatcher(), pass, consumer);
+            case MAPPED -> current.mappedReader().read(this.tasksPath, pass, consumer);
+            case PARALLEL -> readParallel(current, pass, consumer);
+        }
+        pass.complete();
+    }
+
+    /**
+     * @return path of the file this reader reads tasks from
+     */
+    public Path getTasksPath() {
+        return tasksPath;
+    }
+
+    /**
+     * @return strategy used to load the tasks file
+     */
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    /**
+     * @return number of distinct task lines cached by the last completed read
+     */
+    int cachedLineCount() {
+        return lineCache.size();
     }
 
-    private List<String> readAllLines(Path path) throws IOException {
-        return Files.readAllLines(path);
+    private void readParallel(Parsers current, TaskLineCache.Pass pass, Consumer<? super Task> consumer) throws IOException {
+        if (Files.size(this.tasksPath) < parallelThresholdBytes) {
+            current.mappedReader().read(this.tasksPath, pass, consumer);
+        } else {
+            current.parallelReader().read(this.tasksPath, pass, consumer);
+        }
     }
 
-    private List<Task> parseLines(List<String> lines) {
-        List<Task> tasks = new ArrayList<>();
-        for (String line : lines) {
-            taskLineParserDispatcher.parse(line).ifPresent(tasks::add);
+    private void readStreaming(TaskLineParserDispatcher dispatcher, TaskLineCache.Pass pass, Consumer<? super Task> consumer) throws IOException {
+        try (BufferedReader reader = openReader(this.tasksPath)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parseLine(dispatcher, line, pass).ifPresent(consumer);
+            }
         }
-        return tasks;
     }
 
+    private Optional<Task> parseLine(TaskLineParserDispatcher dispatcher, String line, TaskLineCache.Pass pass) {
+        if (!line.startsWith(TASK_ITEM_LINE_PREFIX)) {
+            return Optional.empty();
+        }
+        long hash = ContentHash.of(line);
+        TaskLineCache.LineResult result = pass.lookup(hash, line.length());
+        if (result.unseen()) {
+            result = TaskLineCache.LineResult.of(dispatcher.parse(line));
+            pass.store(hash, line.length(), result);
+        }
+        return result.task();
+    }
+
+    private BufferedReader openReader(Path path) throws IOException {
+        // decoder reports malformed input, the same way Files.readAllLines does
+        return new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8.newDecoder()),
+                READ_BUFFER_SIZE
+        );
+    }
+
+    private record Parsers(TaskLineParserDispatcher dispatcher,
+                           MappedTaskFileReader mappedReader,
+                           ParallelTaskFileReader parallelReader) {
+
+        static Parsers of(TaskLineParserDispatcher dispatcher) {
+            MappedTaskFileReader mappedReader = new MappedTaskFileReader(dispatcher);
+            return new Parsers(dispatcher, mappedReader, new ParallelTaskFileReader(mappedReader));
+        }
+    }
 }
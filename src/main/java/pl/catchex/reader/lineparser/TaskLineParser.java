@@ -7,6 +7,10 @@ import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Regex-based line parser. Production parsing goes through {@link TaskLineScanner};
+ * the regex parsers are kept as the reference behaviour the scanner is verified against.
+ */
 abstract class TaskLineParser {
     boolean isTaskTextValid(String text){
         return Objects.nonNull(text) && !text.isBlank();
@@ -10,21 +10,17 @@ public class TaskLineParserDispatcher {
 
     private static final String TASK_ITEM_LINE_PREFIX = "- [ ]";
 
-    private final TaskLinePriorityDueDateParser taskLinePriorityDueDateParser;
-    private final TaskLinePriorityParser taskLinePriorityParser;
-    private final TaskLineBasicParser taskLineBasicParser;
+    private final TaskLineScanner taskLineScanner;
 
     /**
-     * Create a dispatcher that will attempt several line parsers in order
-     * to extract a {@link Task} from a text line.
+     * Create a dispatcher that extracts a {@link Task} from a text line using a
+     * single-pass {@link TaskLineScanner}.
      *
      * @param priorityParser parser for priority tokens
      * @param dateParser     parser for date tokens
      */
     public TaskLineParserDispatcher(PriorityParser priorityParser, DateParser dateParser){
-        this.taskLinePriorityDueDateParser = new TaskLinePriorityDueDateParser(priorityParser, dateParser);
-        this.taskLinePriorityParser = new TaskLinePriorityParser(priorityParser);
-        this.taskLineBasicParser = new TaskLineBasicParser();
+        this.taskLineScanner = new TaskLineScanner(priorityParser, dateParser);
     }
 
     /**
@@ -39,9 +35,7 @@ public class TaskLineParserDispatcher {
             return Optional.empty();
         }
 
-        return taskLinePriorityDueDateParser.parse(line)
-                .or(() -> taskLinePriorityParser.parse(line))
-                .or(() -> taskLineBasicParser.parse(line));
+        return taskLineScanner.scan(line);
     }
 
     private boolean isNotTaskLine(String line){
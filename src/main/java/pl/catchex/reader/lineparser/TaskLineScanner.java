@@ -0,0 +1,106 @@
+package pl.catchex.reader.lineparser;
+
+import pl.catchex.common.DateParser;
+import pl.catchex.model.Task;
+import pl.catchex.reader.PriorityParser;
+
+import java.util.Optional;
+
+/**
+ * Single-pass scanner that extracts the text, priority and due-date spans of a
+ * task line in one left-to-right walk over its characters.
+ *
+ * <p>The scanner produces exactly the same {@link Task} values as the regex
+ * cascade {@link TaskLinePriorityDueDateParser} &rarr; {@link TaskLinePriorityParser}
+ * &rarr; {@link TaskLineBasicParser}. Because all reluctant groups of those patterns
+ * stop at the first {@code " ["} after the prefix, one pass is enough to locate:</p>
+ * <ul>
+ *     <li>the first {@code " ["} (end of the task text),</li>
+ *     <li>the first {@code "] ["} after it (end of the priority, start of the due date),</li>
+ *     <li>the closing {@code ']'} at the end of the line.</li>
+ * </ul>
+ */
+public class TaskLineScanner {
+
+    private static final String TASK_ITEM_PREFIX = "- [ ] ";
+    private static final int PREFIX_LENGTH = TASK_ITEM_PREFIX.length();
+
+    private final PriorityParser priorityParser;
+    private final DateParser dateParser;
+
+    TaskLineScanner(PriorityParser priorityParser, DateParser dateParser) {
+        this.priorityParser = priorityParser;
+        this.dateParser = dateParser;
+    }
+
+    /**
+     * Scan a single line and convert it into a {@link Task}.
+     *
+     * @param line the text line to scan
+     * @return Optional containing a {@link Task} when the line is a valid task line, otherwise empty
+     */
+    Optional<Task> scan(String line) {
+        if (!line.startsWith(TASK_ITEM_PREFIX)) {
+            return Optional.empty();
+        }
+
+        int length = line.length();
+        int textEnd = -1;
+        int priorityEnd = -1;
+
+        for (int i = PREFIX_LENGTH; i < length; i++) {
+            char c = line.charAt(i);
+            if (isLineTerminator(c)) {
+                // '.' in the reference patterns never matches a line terminator
+                return Optional.empty();
+            }
+            if (textEnd < 0) {
+                if (c == ' ' && isAt(line, i + 1, '[')) {
+                    textEnd = i;
+                }
+            } else if (priorityEnd < 0 && i >= textEnd + 2 && c == ']'
+                    && isAt(line, i + 1, ' ') && isAt(line, i + 2, '[')) {
+                priorityEnd = i;
+            }
+        }
+
+        if (textEnd >= 0 && line.charAt(length - 1) == ']') {
+            String text = line.substring(PREFIX_LENGTH, textEnd);
+            if (isTaskTextValid(text)) {
+                return Optional.of(toTask(line, text, textEnd, priorityEnd));
+            }
+        }
+
+        String text = line.substring(PREFIX_LENGTH);
+        if (isTaskTextValid(text)) {
+            return Optional.of(new Task.Builder().task(text).build());
+        }
+        return Optional.empty();
+    }
+
+    private Task toTask(String line, String text, int textEnd, int priorityEnd) {
+        int closingBracket = line.length() - 1;
+        Task.Builder task = new Task.Builder().task(text);
+
+        // the due date needs at least its closing bracket after the "] [" separator
+        if (priorityEnd >= 0 && priorityEnd + 3 <= closingBracket) {
+            priorityParser.parse(line.substring(textEnd + 2, priorityEnd)).ifPresent(task::priority);
+            dateParser.parse(line.substring(priorityEnd + 3, closingBracket)).ifPresent(task::dueDate);
+        } else {
+            priorityParser.parse(line.substring(textEnd + 2, closingBracket)).ifPresent(task::priority);
+        }
+        return task.build();
+    }
+
+    private static boolean isAt(String line, int index, char expected) {
+        return index < line.length() && line.charAt(index) == expected;
+    }
+
+    private static boolean isTaskTextValid(String text) {
+        return !text.isBlank();
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -0,0 +1,50 @@
+package pl.catchex.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReminderScheduler} creating one {@link ScheduledFuture} per reminder on a
+ * {@link ScheduledExecutorService}.
+ */
+public class ExecutorReminderScheduler implements ReminderScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorReminderScheduler.class);
+
+    private final ScheduledExecutorService executorService;
+
+    /**
+     * @param executorService executor to run scheduled reminders
+     */
+    public ExecutorReminderScheduler(ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @Override
+    public ReminderHandle scheduleAtFixedRate(Runnable reminder, long initialDelay, long period, TimeUnit unit) {
+        ScheduledFuture<?> scheduledFuture = executorService.scheduleAtFixedRate(reminder, initialDelay, period, unit);
+        // false: do not interrupt if currently running, but prevent future executions
+        return () -> scheduledFuture.cancel(false);
+    }
+
+    /**
+     * Shuts down the scheduled executor service, waiting up to 5 seconds for running reminders.
+     */
+    @Override
+    public void shutdown() {
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Executor service did not terminate cleanly, forcing shutdown...");
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.error("Interrupted while waiting for executor termination, forcing shutdown.", e);
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
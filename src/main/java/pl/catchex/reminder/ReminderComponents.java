@@ -0,0 +1,50 @@
+package pl.catchex.reminder;
+
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.frequency.TaskFrequencyService;
+import pl.catchex.tray.AsyncNotificationDispatcher;
+import pl.catchex.tray.NotificationSender;
+
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The reminder service together with the executor and the notification dispatcher it runs
+ * on. Created in one place so the application assembler and the injector share the same
+ * instances; whoever creates them stops the service and the executor (see
+ * {@link pl.catchex.lifecycle.ApplicationStopper}) and closes the dispatcher.
+ *
+ * @param frequencyService       frequency service of the reminder service
+ * @param executor               single reminder thread
+ * @param notificationDispatcher asynchronous dispatcher in front of the sender (null without a sender)
+ * @param reminderService        reminder service
+ */
+public record ReminderComponents(TaskFrequencyService frequencyService,
+                                 ScheduledExecutorService executor,
+                                 AsyncNotificationDispatcher notificationDispatcher,
+                                 TaskReminderService reminderService) {
+
+    /**
+     * @param configuration      reminder configuration
+     * @param notificationSender sender displaying the notifications (may be null)
+     * @return reminder components ready to receive repository changes
+     */
+    public static ReminderComponents create(ReminderConfiguration configuration, NotificationSender notificationSender) {
+        ThreadFactory factory = runnable -> {
+            Thread t = new Thread(runnable);
+            t.setDaemon(true);
+            t.setName("tostdo-reminder-executor");
+            return t;
+        };
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(factory);
+        // reminders must not wait for the tray, notifications are sent from a separate queue
+        AsyncNotificationDispatcher dispatcher = notificationSender == null ? null : new AsyncNotificationDispatcher(notificationSender);
+        TaskFrequencyService frequencyService = new TaskFrequencyService(Clock.systemDefaultZone(), configuration);
+        ReminderDigest digest = ReminderDigest.of(configuration.getDigest(), dispatcher, frequencyService, executor);
+        ReminderScheduler scheduler = new TimingWheelReminderScheduler(executor).start();
+        TaskReminderService reminderService = new TaskReminderService(frequencyService, scheduler, digest).start();
+        return new ReminderComponents(frequencyService, executor, dispatcher, reminderService);
+    }
+}
@@ -0,0 +1,173 @@
+package pl.catchex.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.catchex.config.reader.reminder.DigestConfiguration;
+import pl.catchex.frequency.TaskFrequencyService;
+import pl.catchex.frequency.Urgency;
+import pl.catchex.model.Task;
+import pl.catchex.tray.NotificationSender;
+
+import java.awt.TrayIcon;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates reminders that come due within a time window into a single digest
+ * notification, e.g. "7 tasks due, 2 critical", instead of sending one notification
+ * per task. The digest lists at most {@code maxEntries} tasks, most urgent first.
+ *
+ * <p>The window starts with the first reminder offered after the previous digest was
+ * sent. With a window of zero every reminder is sent immediately on the calling thread.
+ * This class is thread-safe.</p>
+ */
+public class ReminderDigest {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderDigest.class);
+
+    static final String TITLE = "TOstDO - reminder";
+
+    public static final long DEFAULT_WINDOW_MS = 2000;
+    public static final int DEFAULT_MAX_ENTRIES = 5;
+
+    private static final Comparator<Task> MOST_URGENT_FIRST = Comparator
+            .comparing(Task::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Task::priority, Comparator.reverseOrder());
+
+    private final NotificationSender notificationSender; // may be null, then only logging is performed
+    private final TaskFrequencyService frequencyService;
+    private final ScheduledExecutorService flushExecutor;
+    private volatile long windowMs;
+    private volatile int maxEntries;
+
+    private final Object lock = new Object();
+    private Set<Task> pending = new LinkedHashSet<>();
+
+    /**
+     * @param notificationSender optional notification sender (may be null)
+     * @param frequencyService   service used to classify tasks as critical or urgent
+     * @param flushExecutor      executor sending the digest at the end of the window (unused when the window is zero)
+     * @param windowMs           time (in milliseconds) during which reminders are aggregated
+     * @param maxEntries         maximum number of tasks listed in one digest
+     */
+    public ReminderDigest(NotificationSender notificationSender, TaskFrequencyService frequencyService,
+                          ScheduledExecutorService flushExecutor, long windowMs, int maxEntries) {
+        this.notificationSender = notificationSender;
+        this.frequencyService = frequencyService;
+        this.flushExecutor = flushExecutor;
+        this.windowMs = Math.max(0, windowMs);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Create a digest from the reminder configuration; values not greater than zero fall back to the defaults.
+     *
+     * @param configuration      digest configuration (may be null)
+     * @param notificationSender optional notification sender (may be null)
+     * @param frequencyService   service used to classify tasks as critical or urgent
+     * @param flushExecutor      executor sending the digest at the end of the window
+     * @return configured digest
+     */
+    public static ReminderDigest of(DigestConfiguration configuration, NotificationSender notificationSender,
+                                    TaskFrequencyService frequencyService, ScheduledExecutorService flushExecutor) {
+        long windowMs = DEFAULT_WINDOW_MS;
+        int maxEntries = DEFAULT_MAX_ENTRIES;
+        if (configuration != null) {
+            if (configuration.getWindowMs() > 0) windowMs = configuration.getWindowMs();
+            if (configuration.getMaxEntries() > 0) maxEntries = configuration.getMaxEntries();
+        }
+        return new ReminderDigest(notificationSender, frequencyService, flushExecutor, windowMs, maxEntries);
+    }
+
+    /**
+     * Replace the window and the size of the digest; values not greater than zero fall back
+     * to the defaults. Reminders already collected are sent at the end of the current window.
+     * A digest created without flush executor keeps sending every reminder immediately.
+     *
+     * @param configuration digest configuration (may be null)
+     */
+    public void reconfigure(DigestConfiguration configuration) {
+        ReminderDigest configured = of(configuration, notificationSender, frequencyService, flushExecutor);
+        this.maxEntries = configured.maxEntries;
+        if (flushExecutor != null) {
+            this.windowMs = configured.windowMs;
+        }
+    }
+
+    /**
+     * Add a reminder to the current digest.
+     *
+     * @param task task the reminder is about
+     */
+    public void offer(Task task) {
+        long window = windowMs;
+        if (window == 0) {
+            send(List.of(task));
+            return;
+        }
+        synchronized (lock) {
+            boolean firstInWindow = pending.isEmpty();
+            pending.add(task);
+            if (!firstInWindow) {
+                return;
+            }
+        }
+        flushExecutor.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send the reminders collected so far as one notification.
+     */
+    void flush() {
+        List<Task> tasks;
+        synchronized (lock) {
+            tasks = new ArrayList<>(pending);
+            pending = new LinkedHashSet<>();
+        }
+        if (!tasks.isEmpty()) {
+            send(tasks);
+        }
+    }
+
+    private void send(List<Task> tasks) {
+        String message = tasks.size() == 1 ? tasks.get(0).toString() : digestMessage(tasks);
+        logger.info("--- TASK REMINDER ---");
+        logger.info("{}", message);
+        logger.info("---------------------");
+        // Send a notification via NotificationSender if injected
+        try {
+            if (notificationSender != null) {
+                notificationSender.send(TITLE, message, TrayIcon.MessageType.INFO);
+            } else {
+                logger.debug("NotificationSender is not available - GUI notifications disabled");
+            }
+        } catch (Exception e) {
+            // Do not break reminder scheduling if GUI fails
+            logger.warn("Exception while sending notification: {}", e.getMessage());
+        }
+    }
+
+    private String digestMessage(List<Task> tasks) {
+        long critical = tasks.stream().filter(t -> frequencyService.urgencyOf(t) == Urgency.CRITICAL).count();
+        StringBuilder message = new StringBuilder()
+                .append(tasks.size()).append(" tasks due");
+        if (critical > 0) {
+            message.append(", ").append(critical).append(" critical");
+        }
+
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(MOST_URGENT_FIRST);
+        int entries = maxEntries;
+        for (Task task : sorted.subList(0, Math.min(entries, sorted.size()))) {
+            message.append('\n').append(task);
+        }
+        if (sorted.size() > entries) {
+            message.append("\n... and ").append(sorted.size() - entries).append(" more");
+        }
+        return message.toString();
+    }
+}
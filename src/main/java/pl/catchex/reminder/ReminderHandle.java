@@ -0,0 +1,28 @@
+package pl.catchex.reminder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handle of a reminder scheduled by a {@link ReminderScheduler}.
+ */
+@FunctionalInterface
+public interface ReminderHandle {
+
+    /**
+     * Prevent future runs of the reminder. A run that is already in progress is not interrupted.
+     */
+    void cancel();
+
+    /**
+     * Change the period of the reminder in place, keeping its phase: the next run happens one
+     * new period after the previous run (or on the next occasion when that moment has passed).
+     *
+     * @param period new time between runs
+     * @param unit   unit of {@code period}
+     * @return true if the period was changed, false when the scheduler cannot change it in place
+     * (the reminder then has to be cancelled and scheduled again)
+     */
+    default boolean changePeriod(long period, TimeUnit unit) {
+        return false;
+    }
+}
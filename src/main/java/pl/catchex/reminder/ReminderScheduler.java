@@ -0,0 +1,25 @@
+package pl.catchex.reminder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules periodic reminders for {@link TaskReminderService}.
+ */
+public interface ReminderScheduler {
+
+    /**
+     * Schedule a reminder that runs first after {@code initialDelay} and then every {@code period}.
+     *
+     * @param reminder     action to run
+     * @param initialDelay delay before the first run
+     * @param period       time between subsequent runs
+     * @param unit         unit of {@code initialDelay} and {@code period}
+     * @return handle used to cancel the reminder
+     */
+    ReminderHandle scheduleAtFixedRate(Runnable reminder, long initialDelay, long period, TimeUnit unit);
+
+    /**
+     * Cancel all reminders and release the resources of the scheduler.
+     */
+    void shutdown();
+}
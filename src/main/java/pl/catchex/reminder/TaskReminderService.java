@@ -2,29 +2,56 @@ package pl.catchex.reminder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
 import pl.catchex.frequency.TaskFrequencyService;
 import pl.catchex.model.IntervalMinutes;
 import pl.catchex.model.Task;
+import pl.catchex.model.TaskDelta;
 import pl.catchex.model.TaskRepositoryListener;
+import pl.catchex.model.TaskUpdate;
 import pl.catchex.tray.NotificationSender;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Manages scheduling of reminders for tasks based on repository events
+ *
+ * <p>The reminder interval of a task depends on the time left until its due date. Tasks
+ * are kept in a map ordered by the day on which their interval changes next; once a
+ * minute the service checks whether the day changed and reschedules only the tasks whose
+ * day has come. The check runs once {@link #start()} has been called.</p>
+ *
+ * <p>An edited task (see {@link TaskUpdate}) keeps its running reminder; only the task it
+ * reminds of and, if needed, its interval are changed.</p>
  */
 public class TaskReminderService implements TaskRepositoryListener {
 
     private final TaskFrequencyService frequencyService;
-    private final ScheduledExecutorService executorService;
-    private final NotificationSender notificationSender; // may be null, then only logging is performed
-    private final Map<Task, ScheduledFuture<?>> activeReminders = new ConcurrentHashMap<>();
+    private final ReminderScheduler reminderScheduler;
+    private final ReminderDigest reminderDigest;
+    private final Map<Task, ActiveReminder> activeReminders = new ConcurrentHashMap<>();
+
+    // serializes scheduling changes coming from repository events and from the urgency check
+    private final Object reminderLock = new Object();
+    // guarded by reminderLock
+    private final NavigableMap<LocalDate, Set<Task>> urgencyChanges = new TreeMap<>();
+    private final Map<Task, LocalDate> urgencyChangeOf = new HashMap<>();
+    private LocalDate lastEvaluatedDay;
     private static final Logger logger = LoggerFactory.getLogger(TaskReminderService.class);
 
+    private static final long URGENCY_CHECK_MINUTES = 1;
+
     /**
      * Creates a new reminder service.
      *
@@ -33,82 +60,305 @@ public class TaskReminderService implements TaskRepositoryListener {
      * @param notificationSender optional notification sender (may be null)
      */
     public TaskReminderService(TaskFrequencyService frequencyService, ScheduledExecutorService executorService, NotificationSender notificationSender) {
+        this(frequencyService, new ExecutorReminderScheduler(executorService), notificationSender);
+    }
+
+    /**
+     * Creates a new reminder service sending one notification per reminder.
+     *
+     * @param frequencyService   service to calculate reminder intervals
+     * @param reminderScheduler  scheduler running the periodic reminders
+     * @param notificationSender optional notification sender (may be null)
+     */
+    public TaskReminderService(TaskFrequencyService frequencyService, ReminderScheduler reminderScheduler, NotificationSender notificationSender) {
+        this(frequencyService, reminderScheduler, new ReminderDigest(notificationSender, frequencyService, null, 0, 1));
+    }
+
+    /**
+     * Creates a new reminder service.
+     *
+     * @param frequencyService  service to calculate reminder intervals
+     * @param reminderScheduler scheduler running the periodic reminders
+     * @param reminderDigest    digest aggregating reminders into notifications
+     */
+    public TaskReminderService(TaskFrequencyService frequencyService, ReminderScheduler reminderScheduler, ReminderDigest reminderDigest) {
         this.frequencyService = frequencyService;
-        this.executorService = executorService;
-        this.notificationSender = notificationSender;
+        this.reminderScheduler = reminderScheduler;
+        this.reminderDigest = reminderDigest;
+        this.lastEvaluatedDay = frequencyService.today();
+    }
+
+    /**
+     * Start the periodic check rescheduling reminders of tasks whose urgency changed.
+     *
+     * @return this service
+     */
+    public TaskReminderService start() {
+        reminderScheduler.scheduleAtFixedRate(this::reevaluateUrgency, URGENCY_CHECK_MINUTES, URGENCY_CHECK_MINUTES, TimeUnit.MINUTES);
+        return this;
     }
 
     @Override
     public void onTaskAdded(Task task) {
-        // Prevent duplicate scheduling if the task is already being tracked
-        if (activeReminders.containsKey(task)) {
-            logger.warn("Attempted to add a reminder for an already tracked task: {}", task);
-            return;
+        if (startReminder(task)) {
+            logger.info("Started reminder for: {}", task);
         }
+    }
 
-        IntervalMinutes interval = frequencyService.calculateTaskInterval(task);
-        long intervalMinutes = interval.value();
+    @Override
+    public void onTaskRemoved(Task task) {
+        if (cancelReminder(task)) {
+            logger.info("Cancelled reminder for: {}", task);
+        }
+    }
 
-        Runnable reminderTask = () -> {
-            logger.info("--- TASK REMINDER (every {} min) ---", intervalMinutes);
-            logger.info("{}", task);
-            logger.info("-------------------------------------------------");
-            // Send a notification via NotificationSender if injected
-            try {
-                if (notificationSender != null) {
-                    String title = "TOstDO - reminder";
-                    String message = task.toString();
-                    notificationSender.send(title, message, java.awt.TrayIcon.MessageType.INFO);
-                } else {
-                    logger.debug("NotificationSender is not available - GUI notifications disabled");
-                }
-            } catch (Exception e) {
-                // Do not break reminder scheduling if GUI fails
-                logger.warn("Exception while sending notification: {}", e.getMessage());
+    /**
+     * Keep the running reminder of an edited task, adjusting its interval in place.
+     */
+    @Override
+    public void onTaskUpdated(Task before, Task after) {
+        if (updateReminder(before, after, frequencyService.calculateTaskInterval(after))) {
+            logger.info("Updated reminder for: {}", after);
+        }
+    }
+
+    /**
+     * Cancel reminders of removed tasks, adjust reminders of edited ones and start reminders
+     * of added ones, logging a single summary line for the whole batch.
+     *
+     * @param delta applied repository changes
+     */
+    @Override
+    public void onTasksChanged(TaskDelta delta) {
+        int cancelled = 0;
+        for (Task task : delta.removed()) {
+            if (cancelReminder(task)) cancelled++;
+        }
+        List<Task> scheduled = new ArrayList<>(delta.added());
+        delta.updated().forEach(update -> scheduled.add(update.after()));
+        Map<Task, IntervalMinutes> intervals = frequencyService.calculateIntervals(scheduled);
+        int updated = 0;
+        for (TaskUpdate update : delta.updated()) {
+            if (updateReminder(update.before(), update.after(), intervals.get(update.after()))) updated++;
+        }
+        int started = 0;
+        for (Task task : delta.added()) {
+            if (startReminder(task, intervals.get(task))) started++;
+        }
+        logger.info("Reminders updated [ cancelled={}, updated={}, started={}, active={} ]", cancelled, updated, started, activeReminders.size());
+    }
+
+    private boolean startReminder(Task task) {
+        return startReminder(task, frequencyService.calculateTaskInterval(task));
+    }
+
+    private boolean startReminder(Task task, IntervalMinutes interval) {
+        synchronized (reminderLock) {
+            // Prevent duplicate scheduling if the task is already being tracked
+            if (activeReminders.containsKey(task)) {
+                logger.warn("Attempted to add a reminder for an already tracked task: {}", task);
+                return false;
             }
-        };
 
-        ScheduledFuture<?> scheduledFuture = executorService.scheduleAtFixedRate(
+            ActiveReminder reminder = new ActiveReminder(task, interval);
+            reminder.handle = schedule(reminder);
+
+            activeReminders.put(task, reminder);
+            trackUrgencyChange(task);
+            logger.debug("Scheduled reminder for: {} (every {} min)", task, interval.value());
+            return true;
+        }
+    }
+
+    // must be called with reminderLock held
+    private ReminderHandle schedule(ActiveReminder reminder) {
+        return schedule(reminder, reminder.interval);
+    }
+
+    // must be called with reminderLock held
+    private ReminderHandle schedule(ActiveReminder reminder, IntervalMinutes interval) {
+        long intervalMinutes = interval.value();
+        // the task is read on every run, so edits applied in place are reflected by the reminder
+        Runnable reminderTask = () -> reminderDigest.offer(reminder.task);
+        return reminderScheduler.scheduleAtFixedRate(
                 reminderTask,
                 intervalMinutes,
                 intervalMinutes,
                 TimeUnit.MINUTES
         );
+    }
 
-        activeReminders.put(task, scheduledFuture);
-        logger.info("Started reminder for: {} (every {} min)", task, intervalMinutes);
+    /**
+     * Move the reminder of an edited task to its new content without cancelling it. Its
+     * interval is changed in place when the scheduler supports it, so the reminder keeps
+     * its phase instead of starting over.
+     */
+    private boolean updateReminder(Task before, Task after, IntervalMinutes interval) {
+        synchronized (reminderLock) {
+            ActiveReminder reminder = activeReminders.get(before);
+            if (reminder == null || activeReminders.containsKey(after)) {
+                cancelReminder(before);
+                return startReminder(after, interval);
+            }
+            activeReminders.remove(before);
+            untrackUrgencyChange(before);
+            reminder.task = after;
+            activeReminders.put(after, reminder);
+            changeInterval(reminder, interval);
+            trackUrgencyChange(after);
+            return true;
+        }
     }
 
-    @Override
-    public void onTaskRemoved(Task task) {
-        ScheduledFuture<?> scheduledFuture = activeReminders.remove(task);
+    // must be called with reminderLock held
+    private boolean changeInterval(ActiveReminder reminder, IntervalMinutes interval) {
+        if (reminder.interval.equals(interval)) {
+            return false;
+        }
+        if (!reminder.handle.changePeriod(interval.value(), TimeUnit.MINUTES)) {
+            // the scheduler cannot move the reminder, schedule it anew before dropping the old one
+            ReminderHandle replacement = schedule(reminder, interval);
+            reminder.handle.cancel();
+            reminder.handle = replacement;
+        }
+        // recorded only once the scheduler accepted the new interval
+        reminder.interval = interval;
+        return true;
+    }
 
-        if (scheduledFuture != null) {
-            // false: do not interrupt if currently running, but prevent future executions
-            scheduledFuture.cancel(false);
-            logger.info("Cancelled reminder for: {}", task);
-        } else {
+    private boolean cancelReminder(Task task) {
+        synchronized (reminderLock) {
+            ActiveReminder reminder = activeReminders.remove(task);
+
+            if (reminder != null) {
+                // a reminder that is currently running is not interrupted, future executions are prevented
+                reminder.handle.cancel();
+                untrackUrgencyChange(task);
+                return true;
+            }
             logger.debug("Attempted to remove an untracked reminder: {}", task);
+            return false;
         }
     }
 
     /**
-     * Shuts down the scheduled executor service used by this service.
+     * Reschedule the reminders of tasks that entered the urgent or critical window since
+     * the last check. Does nothing while the day has not changed.
      */
-    public void stop() {
-        logger.info("Stopping...");
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                logger.warn("Executor service did not terminate cleanly, forcing shutdown...");
-                executorService.shutdownNow();
+    void reevaluateUrgency() {
+        LocalDate today = frequencyService.today();
+        List<Task> changed = new ArrayList<>();
+        synchronized (reminderLock) {
+            if (today.equals(lastEvaluatedDay)) {
+                return;
+            }
+            lastEvaluatedDay = today;
+            NavigableMap<LocalDate, Set<Task>> due = urgencyChanges.headMap(today, true);
+            for (Set<Task> tasks : due.values()) {
+                changed.addAll(tasks);
+            }
+            due.clear();
+            changed.forEach(urgencyChangeOf::remove);
+        }
+
+        int rescheduled = 0;
+        Map<Task, IntervalMinutes> intervals = frequencyService.calculateIntervals(changed);
+        for (Task task : changed) {
+            synchronized (reminderLock) {
+                ActiveReminder reminder = activeReminders.get(task);
+                if (reminder != null) {
+                    changeInterval(reminder, intervals.get(task));
+                    trackUrgencyChange(task);
+                    rescheduled++;
+                }
+            }
+        }
+        if (rescheduled > 0) {
+            logger.info("Rescheduled reminders after due date threshold change [ day={}, rescheduled={} ]", today, rescheduled);
+        }
+    }
+
+    /**
+     * Apply a new reminder configuration without dropping any task: intervals of all
+     * tracked tasks are recomputed and only reminders whose interval changed are
+     * adjusted. Days on which urgency changes next are recomputed as well, since
+     * they depend on the configured thresholds. The digest window and size are
+     * replaced too.
+     *
+     * <p>The new settings and the intervals of all tracked tasks are computed before
+     * anything is changed, so an unusable configuration leaves the service untouched.</p>
+     *
+     * @param configuration new reminder configuration
+     * @throws IllegalArgumentException when the configuration cannot be applied
+     */
+    public void reconfigure(ReminderConfiguration configuration) {
+        TaskFrequencyService.Settings settings = TaskFrequencyService.prepare(configuration);
+        int rescheduled = 0;
+        synchronized (reminderLock) {
+            List<Task> tasks = new ArrayList<>(activeReminders.keySet());
+            Map<Task, IntervalMinutes> intervals = frequencyService.calculateIntervals(tasks, settings);
+            frequencyService.apply(settings);
+            if (reminderDigest != null) {
+                reminderDigest.reconfigure(configuration.getDigest());
+            }
+            for (Task task : tasks) {
+                ActiveReminder reminder = activeReminders.get(task);
+                if (reminder == null) {
+                    continue;
+                }
+                untrackUrgencyChange(task);
+                if (changeInterval(reminder, intervals.get(task))) {
+                    rescheduled++;
+                }
+                trackUrgencyChange(task);
             }
-        } catch (InterruptedException e) {
-            logger.error("Interrupted while waiting for executor termination, forcing shutdown.", e);
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
         }
+        logger.info("Reminder configuration applied [ rescheduled={}, active={} ]", rescheduled, activeReminders.size());
+    }
+
+    // must be called with reminderLock held
+    private void trackUrgencyChange(Task task) {
+        frequencyService.nextUrgencyChange(task).ifPresent(day -> {
+            urgencyChanges.computeIfAbsent(day, d -> new HashSet<>()).add(task);
+            urgencyChangeOf.put(task, day);
+        });
+    }
+
+    // must be called with reminderLock held
+    private void untrackUrgencyChange(Task task) {
+        LocalDate day = urgencyChangeOf.remove(task);
+        if (day != null) {
+            Set<Task> tasks = urgencyChanges.get(day);
+            tasks.remove(task);
+            if (tasks.isEmpty()) {
+                urgencyChanges.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Shuts down the reminder scheduler used by this service.
+     */
+    public void stop() {
+        logger.info("Stopping...");
+        reminderScheduler.shutdown();
         activeReminders.clear();
+        synchronized (reminderLock) {
+            urgencyChanges.clear();
+            urgencyChangeOf.clear();
+        }
         logger.info("Stopped.");
     }
-}
\ No newline at end of file
+
+    // interval and handle are guarded by reminderLock; task is also read by the running reminder
+    private static final class ActiveReminder {
+        private volatile Task task;
+        private IntervalMinutes interval;
+        private ReminderHandle handle;
+
+        private ActiveReminder(Task task, IntervalMinutes interval) {
+            this.task = task;
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package pl.catchex.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReminderScheduler} backed by a hashed, hierarchical timing wheel.
+ *
+ * <p>Level 0 has {@code wheelSize} buckets of one tick each; every next level has the
+ * same number of buckets, each spanning the whole range of the level below. A reminder
+ * is put into the lowest level whose range covers its deadline and is moved one level
+ * down whenever the bucket it sits in comes due. Buckets are intrusive doubly-linked
+ * lists, so scheduling and cancelling are O(1) and do not allocate anything besides the
+ * reminder entry itself.</p>
+ *
+ * <p>A single periodic tick on the provided {@link ScheduledExecutorService} advances
+ * the wheel once {@link #start()} has been called. All reminders expiring within the same tick are collected and run together
+ * on the ticking thread; reminders therefore fire with a resolution of one tick.</p>
+ */
+public class TimingWheelReminderScheduler implements ReminderScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelReminderScheduler.class);
+
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+    public static final int DEFAULT_WHEEL_SIZE = 64;
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final ScheduledExecutorService tickExecutor;
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private final List<Level> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * Create a timing wheel with a one second tick and 64 buckets per level.
+     *
+     * @param tickExecutor executor running the periodic tick
+     */
+    public TimingWheelReminderScheduler(ScheduledExecutorService tickExecutor) {
+        this(tickExecutor, Clock.systemUTC(), DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Create a timing wheel with a custom clock and resolution (useful for tests).
+     *
+     * @param tickExecutor executor running the periodic tick
+     * @param clock        clock used to obtain current time in milliseconds
+     * @param tickMillis   duration of one tick (resolution of the scheduler)
+     * @param wheelSize    number of buckets per level
+     */
+    public TimingWheelReminderScheduler(ScheduledExecutorService tickExecutor, Clock clock, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize at least 2");
+        }
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.tickExecutor = tickExecutor;
+        long now = clock.millis();
+        this.currentTime = now - Math.floorMod(now, tickMillis);
+        this.levels.add(new Level(tickMillis));
+    }
+
+    /**
+     * Start the periodic tick advancing the wheel.
+     *
+     * @return this scheduler
+     * @throws IllegalStateException if the scheduler has already been started
+     */
+    public TimingWheelReminderScheduler start() {
+        synchronized (lock) {
+            if (ticker != null) {
+                throw new IllegalStateException("Timing wheel already started");
+            }
+            ticker = tickExecutor.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    @Override
+    public ReminderHandle scheduleAtFixedRate(Runnable reminder, long initialDelay, long period, TimeUnit unit) {
+        long periodMillis = unit.toMillis(period);
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        Entry entry = new Entry(reminder, clock.millis() + unit.toMillis(initialDelay), periodMillis);
+        synchronized (lock) {
+            insertNotBeforeNextTick(entry);
+            size++;
+        }
+        return entry;
+    }
+
+    /**
+     * @return number of scheduled (not cancelled) reminders
+     */
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            if (ticker != null) {
+                ticker.cancel(false);
+            }
+            for (Level level : levels) {
+                for (Bucket bucket : level.buckets) {
+                    for (Entry entry = bucket.drain(); entry != null; entry = entry.next) {
+                        entry.cancelled = true;
+                    }
+                }
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * Advance the wheel to the current time and run every reminder that expired meanwhile.
+     */
+    void advance() {
+        long now = clock.millis();
+        List<Entry> expired = new ArrayList<>();
+        synchronized (lock) {
+            while (currentTime + tickMillis <= now) {
+                currentTime += tickMillis;
+                // move entries of higher-level buckets that came due one level down (or into expired)
+                for (int i = levels.size() - 1; i > 0; i--) {
+                    Level level = levels.get(i);
+                    if (currentTime % level.tick == 0) {
+                        reinsert(level.bucketFor(currentTime).drain(), expired);
+                    }
+                }
+                reinsert(levels.get(0).bucketFor(currentTime).drain(), expired);
+            }
+        }
+        if (!expired.isEmpty()) {
+            logger.debug("Timing wheel tick [ expired={} ]", expired.size());
+        }
+        runAll(expired);
+    }
+
+    private void runAll(List<Entry> expired) {
+        for (Entry entry : expired) {
+            if (entry.cancelled) {
+                continue;
+            }
+            try {
+                entry.reminder.run();
+            } catch (Exception e) {
+                logger.warn("Reminder threw exception: {}", e.getMessage(), e);
+            }
+            synchronized (lock) {
+                if (!entry.cancelled) {
+                    entry.deadline += entry.period;
+                    insertNotBeforeNextTick(entry);
+                }
+            }
+        }
+    }
+
+    private void reinsert(Entry head, List<Entry> expired) {
+        Entry entry = head;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.next = null;
+            entry.prev = null;
+            insert(entry, expired);
+            entry = next;
+        }
+    }
+
+    /**
+     * Insert the entry, deferring an already expired deadline to the next tick so that
+     * reminders only ever run on the ticking thread (a period shorter than a tick is run
+     * once per tick). Must be called with the lock held.
+     */
+    private void insertNotBeforeNextTick(Entry entry) {
+        List<Entry> expired = new ArrayList<>(1);
+        insert(entry, expired);
+        if (!expired.isEmpty()) {
+            levels.get(0).bucketFor(currentTime + tickMillis).add(entry);
+        }
+    }
+
+    /**
+     * Put the entry into the lowest level covering its deadline, or into {@code expired}
+     * when the deadline falls into the current tick. Must be called with the lock held.
+     */
+    private void insert(Entry entry, List<Entry> expired) {
+        if (entry.deadline < currentTime + tickMillis) {
+            entry.bucket = null;
+            expired.add(entry);
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level(levels.get(i - 1).tick * wheelSize));
+            }
+            Level level = levels.get(i);
+            long levelStart = currentTime - Math.floorMod(currentTime, level.tick);
+            if (entry.deadline < levelStart + level.tick * wheelSize) {
+                level.bucketFor(entry.deadline).add(entry);
+                return;
+            }
+        }
+    }
+
+    private final class Level {
+        private final long tick;
+        private final Bucket[] buckets;
+
+        private Level(long tick) {
+            this.tick = tick;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        private Bucket bucketFor(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize)];
+        }
+    }
+
+    private static final class Bucket {
+        private Entry head;
+
+        private void add(Entry entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        private void remove(Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /**
+         * Detach and return the whole list; entries stay linked through {@code next}.
+         */
+        private Entry drain() {
+            Entry first = head;
+            head = null;
+            for (Entry entry = first; entry != null; entry = entry.next) {
+                entry.bucket = null;
+            }
+            return first;
+        }
+    }
+
+    private final class Entry implements ReminderHandle {
+        private final Runnable reminder;
+        private volatile boolean cancelled;
+        // guarded by lock
+        private long period;
+        private long deadline;
+        private Bucket bucket;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(Runnable reminder, long deadline, long period) {
+            this.reminder = reminder;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (lock) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                size--;
+                if (bucket != null) {
+                    bucket.remove(this);
+                }
+            }
+        }
+
+        /**
+         * Move the entry to its new deadline in O(1). An entry that is running right now keeps
+         * its bucket-less state and is re-inserted with the new period after the run.
+         */
+        @Override
+        public boolean changePeriod(long period, TimeUnit unit) {
+            long periodMillis = unit.toMillis(period);
+            if (periodMillis <= 0) {
+                throw new IllegalArgumentException("period must be positive");
+            }
+            synchronized (lock) {
+                if (cancelled) {
+                    return false;
+                }
+                if (bucket != null) {
+                    bucket.remove(this);
+                    deadline = deadline - this.period + periodMillis;
+                    this.period = periodMillis;
+                    insertNotBeforeNextTick(this);
+                } else {
+                    this.period = periodMillis;
+                }
+                return true;
+            }
+        }
+    }
+}
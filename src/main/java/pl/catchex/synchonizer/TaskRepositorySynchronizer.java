@@ -2,22 +2,49 @@ package pl.catchex.synchonizer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.catchex.common.FileFingerprint;
 import pl.catchex.filewatcher.FileChangeListener;
 import pl.catchex.model.Task;
+import pl.catchex.model.TaskDelta;
 import pl.catchex.model.TaskRepository;
+import pl.catchex.model.TaskUpdateMatcher;
 import pl.catchex.reader.TaskReader;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.HashSet;
-import java.util.List;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Synchronizes the in-memory {@link TaskRepository} with the content of the
  * tasks file. It implements {@link FileChangeListener} so it may be
  * registered with a {@link pl.catchex.filewatcher.FileWatcher}.
+ *
+ * <p>The {@link FileFingerprint} of the last synchronized content is remembered.
+ * Events that leave the file byte-identical (touch, metadata rewrites, double
+ * saves) are short-circuited before any parsing or diffing. The content is only
+ * hashed again when the size, modification time or file key changed. The fingerprint
+ * is recorded once the read content was applied to the repository, so a failed
+ * synchronization is retried by the next event.</p>
+ *
+ * <p>The file is diffed as a multiset: a task written on several lines is stored with its
+ * number of occurrences, so deleting or duplicating one of the lines is a change too.</p>
+ *
+ * <p>Tasks whose line was edited (e.g. a changed priority or due date) are recognized
+ * by {@link TaskUpdateMatcher} and applied as updates, so listeners keep their state
+ * for them instead of seeing a removal and an addition.</p>
+ *
+ * <p>At most one synchronization runs at a time. Requests arriving while a
+ * synchronization is in progress are collapsed into a single follow-up run
+ * executed by the thread that is already synchronizing, so the caller never
+ * blocks and the repository is never updated by two threads at once.</p>
  */
 public class TaskRepositorySynchronizer implements FileChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(TaskRepositorySynchronizer.class);
@@ -25,6 +52,16 @@ public class TaskRepositorySynchronizer implements FileChangeListener {
     private final TaskReader taskReader;
     private final TaskRepository repository;
 
+    private final AtomicLong shortCircuitedSyncs = new AtomicLong();
+    private final AtomicLong coalescedSyncs = new AtomicLong();
+    private final AtomicInteger pendingSyncs = new AtomicInteger();
+    private final AtomicBoolean resyncRequested = new AtomicBoolean();
+
+    private volatile FileFingerprint lastSyncedFingerprint;
+
+    // positions of the tasks read by the last synchronization, used to recognize edited tasks
+    private Map<Task, Integer> lastPositions = Map.of();
+
     /**
      * Create a synchronizer using the provided reader and repository.
      *
@@ -44,72 +81,127 @@ public class TaskRepositorySynchronizer implements FileChangeListener {
         onFileModified(null);
     }
 
+    /**
+     * Synchronize even when the tasks file did not change since the last run, e.g.
+     * after the parsing rules were reconfigured. If a synchronization is already in
+     * progress, the follow-up run it performs is the forced one.
+     */
+    public void resynchronize() {
+        resyncRequested.set(true);
+        onFileModified(null);
+    }
+
+    /**
+     * @return number of synchronizations skipped because the file content was unchanged
+     */
+    public long getShortCircuitedSyncCount() {
+        return shortCircuitedSyncs.get();
+    }
+
+    /**
+     * @return number of synchronization requests collapsed into an already pending run
+     */
+    public long getCoalescedSyncCount() {
+        return coalescedSyncs.get();
+    }
+
     @Override
     public void onFileModified(Path filePath) {
-        Optional<Set<Task>> readTasksOpt = readTasks();
-        if (readTasksOpt.isEmpty()) {
-            logger.info("Reading tasks failed, skipping synchronization");
+        if (pendingSyncs.getAndIncrement() != 0) {
+            long coalesced = coalescedSyncs.incrementAndGet();
+            logger.debug("Synchronization in progress, request coalesced [ coalesced={} ]", coalesced);
             return;
         }
 
-        Set<Task> tasksFromFile = readTasksOpt.get();
+        int requests = 1;
+        boolean drained = false;
+        try {
+            do {
+                try {
+                    synchronizeOnce();
+                } catch (RuntimeException e) {
+                    logger.error("Synchronization failed [ message={} ]", e.getMessage(), e);
+                }
+                // every request counted so far is served by the run above, re-run only if new ones arrived
+                requests = pendingSyncs.addAndGet(-requests);
+            } while (requests != 0);
+            drained = true;
+        } finally {
+            if (!drained) {
+                // an Error escaped, release the pending requests so later events are not coalesced into a run that never happens
+                pendingSyncs.set(0);
+                logger.error("Synchronization aborted, pending requests released");
+            }
+        }
+    }
 
-        Set<Task> tasksFromRepository = repository.getAll();
+    /**
+     * Events of the tasks file were dropped by the watch service, resynchronize in full.
+     */
+    @Override
+    public void onEventsLost(Path filePath) {
+        logger.warn("File events lost, forcing full synchronization");
+        resynchronize();
+    }
 
+    private void synchronizeOnce() {
+        boolean forced = resyncRequested.getAndSet(false);
+        FileFingerprint fingerprint = fingerprint();
+        if (!forced && fingerprint != null && fingerprint.sameContentAs(lastSyncedFingerprint)) {
+            long skipped = shortCircuitedSyncs.incrementAndGet();
+            logger.debug("File content unchanged, skipping synchronization [ shortCircuited={} ]", skipped);
+            return;
+        }
 
-        if (tasksFromRepository.equals(tasksFromFile)) {
-            logger.debug("No changes detected, skipping synchronization");
+        Optional<Collection<Task>> readTasksOpt = readTasks();
+        if (readTasksOpt.isEmpty()) {
+            logger.info("Reading tasks failed, skipping synchronization");
             return;
         }
+        Map<Task, Integer> positions = new HashMap<>();
+        Map<Task, Integer> counts = new HashMap<>();
+        int position = 0;
+        for (Task task : readTasksOpt.get()) {
+            // line position (index among the task lines) of the first occurrence
+            positions.putIfAbsent(task, position++);
+            counts.merge(task, 1, Integer::sum);
+        }
 
-        Set<Task> toRemove = computeToRemove(tasksFromRepository, tasksFromFile);
-        Set<Task> toAdd = computeToAdd(tasksFromRepository, tasksFromFile);
+        TaskDelta changes = TaskDelta.between(repository.snapshot(), counts);
+        if (changes.isEmpty()) {
+            lastPositions = positions;
+            lastSyncedFingerprint = fingerprint;
+            logger.debug("No changes detected, skipping synchronization");
+            return;
+        }
 
-        applyRemovals(toRemove);
-        applyAdditions(toAdd);
+        TaskDelta delta = TaskUpdateMatcher.match(changes, lastPositions, positions);
+        TaskDelta applied = repository.apply(delta);
+        lastPositions = positions;
+        lastSyncedFingerprint = fingerprint;
+        logger.info("Synchronized tasks [ removed={}, added={}, updated={}, recounted={} ]", applied.removed().size(), applied.added().size(), applied.updated().size(), applied.recounted().size());
+        logger.debug("Synchronized tasks [ removed={}, added={}, updated={}, recounted={} ]", applied.removed(), applied.added(), applied.updated(), applied.recounted());
     }
 
-    private Optional<Set<Task>> readTasks() {
+    private FileFingerprint fingerprint() {
+        Path tasksPath = taskReader.getTasksPath();
+        if (tasksPath == null) {
+            return null;
+        }
         try {
-            List<Task> items = taskReader.read();
-            return Optional.of(new HashSet<>(items));
+            return FileFingerprint.of(tasksPath, lastSyncedFingerprint);
         } catch (IOException e) {
-            logger.warn("Cannot read [ message={} ]", e.getMessage());
-            return Optional.empty();
+            logger.debug("Cannot fingerprint [ path={}, message={} ]", tasksPath, e.getMessage());
+            return null;
         }
     }
 
-    private Set<Task> computeToRemove(Set<Task> currentRepo, Set<Task> fromFile) {
-        Set<Task> toRemove = new HashSet<>(currentRepo);
-        toRemove.removeAll(fromFile);
-        return toRemove;
-    }
-
-    private Set<Task> computeToAdd(Set<Task> currentRepo, Set<Task> fromFile) {
-        Set<Task> toAdd = new HashSet<>(fromFile);
-        toAdd.removeAll(currentRepo);
-        return toAdd;
-    }
-
-    private void applyRemovals(Set<Task> toRemove) {
-        for (Task item : toRemove) {
-            boolean removed = repository.remove(item);
-            if (removed) {
-                logger.info("Removed  [item={}]", item);
-            } else {
-                logger.debug("Attempted to remove but it was not present [item={}]", item);
-            }
-        }
-    }
-
-    private void applyAdditions(Set<Task> toAdd) {
-        for (Task item : toAdd) {
-            boolean added = repository.add(item);
-            if (added) {
-                logger.info("Added task [item={}]", item);
-            } else {
-                logger.debug("Attempted to add task but it was already present [item={}]", item);
-            }
+    private Optional<Collection<Task>> readTasks() {
+        try {
+            return Optional.of(taskReader.read(Collectors.<Task, Collection<Task>>toCollection(ArrayList::new)));
+        } catch (IOException e) {
+            logger.warn("Cannot read [ message={} ]", e.getMessage());
+            return Optional.empty();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package pl.catchex.tray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.TrayIcon;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link NotificationSender} decorator that hands notifications over to a bounded queue
+ * and returns immediately, so a slow or hung sender never stalls the caller (e.g. the
+ * reminder scheduler thread).
+ *
+ * <p>The queue is drained in order by a virtual thread. Every notification is sent on its
+ * own virtual thread and abandoned (interrupted) when it does not complete within the
+ * timeout. Notifications arriving while the queue is full are dropped. Delivered, failed,
+ * timed out and dropped notifications are counted.</p>
+ */
+public class AsyncNotificationDispatcher implements NotificationSender, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncNotificationDispatcher.class);
+
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final long DEFAULT_TIMEOUT_MS = 5000;
+
+    private final NotificationSender delegate;
+    private final BlockingQueue<Notification> queue;
+    private final long timeoutMs;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread drainer;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    /**
+     * Create a dispatcher with the default queue capacity and timeout.
+     *
+     * @param delegate sender actually displaying the notifications
+     */
+    public AsyncNotificationDispatcher(NotificationSender delegate) {
+        this(delegate, DEFAULT_CAPACITY, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * @param delegate  sender actually displaying the notifications
+     * @param capacity  maximum number of queued notifications
+     * @param timeoutMs time (in milliseconds) a single send may take before it is abandoned
+     */
+    public AsyncNotificationDispatcher(NotificationSender delegate, int capacity, long timeoutMs) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.timeoutMs = timeoutMs;
+        this.drainer = Thread.ofVirtual().name("tostdo-notification-dispatcher").start(this::drain);
+    }
+
+    /**
+     * Queue the notification without waiting for it to be displayed.
+     */
+    @Override
+    public void send(String title, String message, TrayIcon.MessageType type) {
+        if (!running || !queue.offer(new Notification(title, message, type))) {
+            long count = dropped.incrementAndGet();
+            logger.warn("Notification queue full or closed, dropping notification [ title={}, dropped={} ]", title, count);
+        }
+    }
+
+    /**
+     * @return number of notifications sent successfully
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * @return number of notifications whose sender threw an exception
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * @return number of notifications abandoned because the sender exceeded the timeout
+     */
+    public long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    /**
+     * @return number of notifications dropped because the queue was full or the dispatcher closed
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stop dispatching. Notifications still queued are discarded and a send in progress is interrupted.
+     */
+    @Override
+    public void close() {
+        running = false;
+        drainer.interrupt();
+        senders.shutdownNow();
+        int discarded = queue.size();
+        queue.clear();
+        logger.info("Notification dispatcher closed [ delivered={}, failed={}, timedOut={}, dropped={}, discarded={} ]",
+                delivered.get(), failed.get(), timedOut.get(), dropped.get(), discarded);
+    }
+
+    private void drain() {
+        while (running) {
+            Notification notification;
+            try {
+                notification = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!deliver(notification)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false when the drainer was interrupted and should stop
+     */
+    private boolean deliver(Notification notification) {
+        Future<?> sending;
+        try {
+            sending = senders.submit(() -> delegate.send(notification.title(), notification.message(), notification.type()));
+        } catch (RuntimeException e) {
+            // executor already shut down
+            return false;
+        }
+        try {
+            sending.get(timeoutMs, TimeUnit.MILLISECONDS);
+            delivered.incrementAndGet();
+        } catch (TimeoutException e) {
+            sending.cancel(true);
+            long count = timedOut.incrementAndGet();
+            logger.warn("Notification sender timed out after {} ms [ title={}, timedOut={} ]", timeoutMs, notification.title(), count);
+        } catch (ExecutionException e) {
+            long count = failed.incrementAndGet();
+            logger.warn("Exception while sending notification [ message={}, failed={} ]", e.getCause().getMessage(), count);
+        } catch (InterruptedException e) {
+            sending.cancel(true);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private record Notification(String title, String message, TrayIcon.MessageType type) {
+    }
+}
@@ -0,0 +1,82 @@
+package pl.catchex;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.catchex.config.AppConfiguration;
+import pl.catchex.config.reader.ReaderConfiguration;
+import pl.catchex.config.reader.watcher.WatcherBackend;
+import pl.catchex.config.reader.watcher.WatcherConfiguration;
+import pl.catchex.filewatcher.FileMonitor;
+import pl.catchex.filewatcher.FileWatcher;
+import pl.catchex.filewatcher.PollingFileWatcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationAssemblerFileMonitorTest {
+
+    private Path tasksFile;
+    private WatcherConfiguration watcherConfiguration;
+    private ApplicationAssembler assembler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tasksFile = Files.createTempFile("tasks-monitor", ".md");
+        watcherConfiguration = new WatcherConfiguration();
+        ReaderConfiguration reader = new ReaderConfiguration();
+        reader.setWatcher(watcherConfiguration);
+        AppConfiguration config = new AppConfiguration();
+        config.setConfiguration(reader);
+        assembler = new ApplicationAssembler(config, null, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(tasksFile);
+    }
+
+    @Test
+    void nativeBackend_usesKernelWatch() throws IOException {
+        // given
+        watcherConfiguration.setBackend(WatcherBackend.NATIVE);
+
+        // when
+        FileMonitor monitor = assembler.createFileMonitor(tasksFile);
+
+        // then
+        assertInstanceOf(FileWatcher.class, monitor);
+        monitor.stop();
+    }
+
+    @Test
+    void listedPath_isPolledWhateverTheBackend() throws IOException {
+        // given
+        watcherConfiguration.setBackend(WatcherBackend.NATIVE);
+        watcherConfiguration.setPollingPaths(List.of(tasksFile.toString()));
+
+        // when
+        FileMonitor monitor = assembler.createFileMonitor(tasksFile);
+
+        // then
+        assertInstanceOf(PollingFileWatcher.class, monitor);
+        monitor.stop();
+    }
+
+    @Test
+    void pollingBackend_isSelectable() throws IOException {
+        // given
+        watcherConfiguration.setBackend(WatcherBackend.POLLING);
+
+        // when
+        FileMonitor monitor = assembler.createFileMonitor(tasksFile);
+
+        // then
+        assertInstanceOf(PollingFileWatcher.class, monitor);
+        monitor.stop();
+    }
+}
@@ -6,11 +6,20 @@ import com.google.inject.Injector;
 import com.google.inject.util.Modules;
 import org.junit.jupiter.api.Test;
 import pl.catchex.config.AppConfiguration;
+import pl.catchex.config.reader.ReaderConfiguration;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.config.reader.taskConfiguration.PriorityConfiguration;
+import pl.catchex.config.reader.taskConfiguration.TaskConfiguration;
 import pl.catchex.lifecycle.ApplicationStopper;
 import pl.catchex.lifecycle.ApplicationStopperFactory;
 import pl.catchex.di.AppModule;
+import pl.catchex.reminder.TaskReminderService;
+import pl.catchex.testutil.ReminderConfigurations;
+import pl.catchex.testutil.TaskParsing;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -75,4 +84,48 @@ class ApplicationAssemblerStopperTest {
         verify(factory, times(1)).create(any(), any(), any(), any(), any());
         verify(mockStopper, times(1)).stop();
     }
+
+    @Test
+    void stop_passesInjectedReminderComponentsToStopper() throws Exception {
+        // given
+        ApplicationStopperFactory mockFactory = mock(ApplicationStopperFactory.class);
+        when(mockFactory.create(any(), any(), any(), any(), any())).thenReturn(mock(ApplicationStopper.class));
+        Injector injector = Guice.createInjector(
+                Modules.override(new AppModule(configuration())).with(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(ApplicationStopperFactory.class).toInstance(mockFactory);
+                    }
+                })
+        );
+        ApplicationAssembler assembler = injector.getInstance(ApplicationAssembler.class);
+        assembler.createComponents(Paths.get("/tmp/tasks.md"));
+
+        // when
+        assembler.stop();
+
+        // then: the injector hands out the instances stopped by the assembler
+        TaskReminderService reminderService = injector.getInstance(TaskReminderService.class);
+        ScheduledExecutorService executor = injector.getInstance(ScheduledExecutorService.class);
+        verify(mockFactory).create(any(), any(), same(reminderService), same(executor), any());
+        executor.shutdownNow();
+    }
+
+    private static AppConfiguration configuration() {
+        PriorityConfiguration priority = new PriorityConfiguration();
+        priority.setSymbol(TaskParsing.symbols());
+        TaskConfiguration task = new TaskConfiguration();
+        task.setDateFormat(TaskParsing.DATE_FORMAT);
+        task.setPriority(priority);
+
+        ReminderConfiguration reminder = ReminderConfigurations.standard();
+
+        ReaderConfiguration reader = new ReaderConfiguration();
+        reader.setTasksFilePath("/tmp/tasks.md");
+        reader.setTaskConfiguration(task);
+        reader.setReminder(reminder);
+        AppConfiguration configuration = new AppConfiguration();
+        configuration.setConfiguration(reader);
+        return configuration;
+    }
 }
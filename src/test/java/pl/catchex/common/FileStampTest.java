@@ -0,0 +1,41 @@
+package pl.catchex.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStampTest {
+
+    @Test
+    void stampTakenWellAfterModification_provesFileUnchanged() {
+        // given
+        FileStamp previous = new FileStamp(10, 1_000, "inode", 5_000);
+        FileStamp current = new FileStamp(10, 1_000, "inode", 9_000);
+
+        // when / then
+        assertTrue(current.unchangedSince(previous));
+    }
+
+    @Test
+    void stampTakenWithinTimestampGranularity_doesNotProveFileUnchanged() {
+        // given: a second same-length write in the same timestamp would go unnoticed
+        FileStamp previous = new FileStamp(10, 1_000, "inode", 1_500);
+        FileStamp current = new FileStamp(10, 1_000, "inode", 9_000);
+
+        // when / then
+        assertTrue(current.sameAttributesAs(previous));
+        assertFalse(current.unchangedSince(previous));
+    }
+
+    @Test
+    void changedAttributes_areDetected() {
+        // given
+        FileStamp previous = new FileStamp(10, 1_000, "inode", 5_000);
+
+        // when / then
+        assertFalse(new FileStamp(11, 1_000, "inode", 9_000).unchangedSince(previous));
+        assertFalse(new FileStamp(10, 2_000, "inode", 9_000).unchangedSince(previous));
+        assertFalse(new FileStamp(10, 1_000, "other", 9_000).unchangedSince(previous));
+        assertFalse(new FileStamp(10, 1_000, "inode", 9_000).unchangedSince(null));
+    }
+}
@@ -0,0 +1,124 @@
+package pl.catchex.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.catchex.bootstrap.PathProvider;
+import pl.catchex.config.cache.InMemoryConfigCache;
+import pl.catchex.config.source.FileConfigLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConfigurationServiceTest {
+
+    private Path configFile;
+    private FileConfigLoader configSource;
+    private ConfigurationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        configFile = Files.createTempFile("configuration", ".yaml");
+        writeConfig("dd/MM/yyyy");
+        PathProvider pathProvider = mock(PathProvider.class);
+        when(pathProvider.getConfigPath()).thenReturn(configFile);
+        configSource = spy(new FileConfigLoader(pathProvider));
+        service = new ConfigurationService(new InMemoryConfigCache(), configSource);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(configFile);
+    }
+
+    @Test
+    void unchangedFile_isServedFromCacheWithoutParsing() {
+        // given
+        Optional<AppConfiguration> first = service.getAppConfiguration();
+
+        // when
+        Optional<AppConfiguration> second = service.getAppConfiguration();
+
+        // then
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.orElseThrow());
+        verify(configSource, times(1)).loadAppConfiguration();
+    }
+
+    @Test
+    void changedFile_isLoadedAgain() throws IOException {
+        // given
+        AppConfiguration first = service.getAppConfiguration().orElseThrow();
+
+        // when
+        writeConfig("yyyy-MM-dd");
+        Files.setLastModifiedTime(configFile, FileTime.from(Instant.now().plusSeconds(60)));
+        AppConfiguration second = service.getAppConfiguration().orElseThrow();
+
+        // then
+        assertNotSame(first, second);
+        assertEquals("yyyy-MM-dd", second.getConfiguration().getTaskConfiguration().getDateFormat());
+        verify(configSource, times(2)).loadAppConfiguration();
+    }
+
+    @Test
+    void missingFile_keepsCachedConfiguration() throws IOException {
+        // given
+        AppConfiguration first = service.getAppConfiguration().orElseThrow();
+
+        // when
+        Files.delete(configFile);
+        Optional<AppConfiguration> second = service.getAppConfiguration();
+
+        // then
+        assertSame(first, second.orElseThrow());
+        verify(configSource, times(1)).loadAppConfiguration();
+    }
+
+    @Test
+    void touchedFile_keepsCachedConfiguration() throws IOException {
+        // given
+        AppConfiguration first = service.getAppConfiguration().orElseThrow();
+
+        // when
+        Files.setLastModifiedTime(configFile, FileTime.from(Instant.now().plusSeconds(60)));
+        Optional<AppConfiguration> second = service.getAppConfiguration();
+
+        // then
+        assertSame(first, second.orElseThrow());
+        verify(configSource, times(1)).loadAppConfiguration();
+    }
+
+    @Test
+    void sameLengthRewriteWithinTimestampGranularity_isLoadedAgain() throws IOException {
+        // given: loaded right after the file was written
+        FileTime modified = Files.getLastModifiedTime(configFile);
+        service.getAppConfiguration().orElseThrow();
+
+        // when: rewritten with the same length and, on a coarse file system, the same time
+        writeConfig("MM/dd/yyyy");
+        Files.setLastModifiedTime(configFile, modified);
+        AppConfiguration second = service.getAppConfiguration().orElseThrow();
+
+        // then
+        assertEquals("MM/dd/yyyy", second.getConfiguration().getTaskConfiguration().getDateFormat());
+        verify(configSource, times(2)).loadAppConfiguration();
+    }
+
+    private void writeConfig(String dateFormat) throws IOException {
+        Files.writeString(configFile, String.join("\n",
+                "configuration:",
+                "  tasksFilePath: /tmp/tasks.md",
+                "  taskConfiguration:",
+                "    dateFormat: " + dateFormat
+        ), StandardCharsets.UTF_8);
+    }
+}
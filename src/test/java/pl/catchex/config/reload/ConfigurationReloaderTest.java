@@ -0,0 +1,128 @@
+package pl.catchex.config.reload;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.catchex.config.AppConfiguration;
+import pl.catchex.config.reader.ReaderConfiguration;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.config.reader.taskConfiguration.PriorityConfiguration;
+import pl.catchex.config.reader.taskConfiguration.TaskConfiguration;
+import pl.catchex.config.source.ConfigSource;
+import pl.catchex.testutil.ReminderConfigurations;
+import pl.catchex.testutil.TaskParsing;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ConfigurationReloaderTest {
+
+    private ConfigSource configSource;
+    private ConfigurationChangeListener listener;
+    private AppConfiguration initial;
+    private ConfigurationReloader reloader;
+
+    @BeforeEach
+    void setUp() {
+        configSource = mock(ConfigSource.class);
+        listener = mock(ConfigurationChangeListener.class);
+        initial = validConfiguration("dd/MM/yyyy");
+        reloader = new ConfigurationReloader(configSource, initial, listener);
+    }
+
+    @Test
+    void validConfiguration_isAppliedAndBecomesCurrent() {
+        // given
+        AppConfiguration reloaded = validConfiguration("yyyy-MM-dd");
+        when(configSource.loadAppConfiguration()).thenReturn(Optional.of(reloaded));
+
+        // when
+        reloader.onFileModified(null);
+
+        // then
+        verify(listener).onConfigurationChanged(initial, reloaded);
+        assertSame(reloaded, reloader.getCurrent());
+    }
+
+    @Test
+    void invalidConfiguration_isNotApplied() {
+        // given: unparsable date format and duplicated priority symbols
+        AppConfiguration reloaded = validConfiguration("dd/MM/yyyy {");
+        reloaded.getConfiguration().getTaskConfiguration().getPriority().getSymbol().setHigh("+");
+        when(configSource.loadAppConfiguration()).thenReturn(Optional.of(reloaded));
+
+        // when
+        boolean applied = reloader.reload();
+
+        // then
+        assertFalse(applied);
+        assertEquals(2, ConfigurationValidator.validate(reloaded).size());
+        verifyNoInteractions(listener);
+        assertSame(initial, reloader.getCurrent());
+    }
+
+    @Test
+    void configurationWithIntervalBelowOneMinute_isNotApplied() {
+        // given: a critical factor rounding every interval down to 0 minutes
+        AppConfiguration reloaded = validConfiguration("yyyy-MM-dd");
+        reloaded.getConfiguration().getReminderConfiguration().getPeriodFactor().setCritical(0.01);
+        when(configSource.loadAppConfiguration()).thenReturn(Optional.of(reloaded));
+
+        // when
+        boolean applied = reloader.reload();
+
+        // then
+        assertFalse(applied);
+        assertEquals(1, ConfigurationValidator.validate(reloaded).size());
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void unreadableConfiguration_isNotApplied() {
+        // given
+        when(configSource.loadAppConfiguration()).thenReturn(Optional.empty());
+
+        // when
+        boolean applied = reloader.reload();
+
+        // then
+        assertFalse(applied);
+        verifyNoInteractions(listener);
+        assertSame(initial, reloader.getCurrent());
+    }
+
+    @Test
+    void configurationRejectedByListener_doesNotBecomeCurrent() {
+        // given
+        AppConfiguration reloaded = validConfiguration("yyyy-MM-dd");
+        when(configSource.loadAppConfiguration()).thenReturn(Optional.of(reloaded));
+        doThrow(new IllegalStateException("boom")).when(listener).onConfigurationChanged(any(), any());
+
+        // when
+        boolean applied = reloader.reload();
+
+        // then
+        assertFalse(applied);
+        assertSame(initial, reloader.getCurrent());
+    }
+
+    private static AppConfiguration validConfiguration(String dateFormat) {
+        PriorityConfiguration priority = new PriorityConfiguration();
+        priority.setSymbol(TaskParsing.symbols());
+        TaskConfiguration task = new TaskConfiguration();
+        task.setDateFormat(dateFormat);
+        task.setPriority(priority);
+
+        ReminderConfiguration reminder = ReminderConfigurations.standard();
+
+        ReaderConfiguration reader = new ReaderConfiguration();
+        reader.setTasksFilePath("/tmp/tasks.md");
+        reader.setTaskConfiguration(task);
+        reader.setReminder(reminder);
+        AppConfiguration configuration = new AppConfiguration();
+        configuration.setConfiguration(reader);
+        return configuration;
+    }
+}
@@ -1,11 +1,19 @@
 package pl.catchex.di;
 
+import com.google.inject.Guice;
+import com.google.inject.Injector;
 import org.junit.jupiter.api.Test;
 import pl.catchex.ApplicationAssembler;
+import pl.catchex.bootstrap.AppDirectoryInitializer;
+import pl.catchex.bootstrap.PathProvider;
 import pl.catchex.config.AppConfiguration;
 import pl.catchex.lifecycle.ApplicationStopper;
 import pl.catchex.lifecycle.ApplicationStopperFactory;
+import pl.catchex.tray.NotificationSenderFactory;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class AppModuleDITest {
@@ -28,4 +36,23 @@ class AppModuleDITest {
         verify(mockFactory, times(1)).create(any(), any(), any(), any(), any());
         verify(mockStopper, times(1)).stop();
     }
+
+    @Test
+    void singleInjector_providesBootstrapComponentsBeforeConfigurationIsLoaded() {
+        // given
+        AtomicBoolean configurationRequested = new AtomicBoolean();
+        Injector injector = Guice.createInjector(new AppModule(() -> {
+            configurationRequested.set(true);
+            return new AppConfiguration();
+        }, NotificationSenderFactory::createNoop));
+
+        // when
+        AppDirectoryInitializer initializer = injector.getInstance(AppDirectoryInitializer.class);
+        PathProvider pathProvider = injector.getInstance(PathProvider.class);
+
+        // then
+        assertNotNull(initializer);
+        assertNotNull(pathProvider);
+        assertFalse(configurationRequested.get());
+    }
 }
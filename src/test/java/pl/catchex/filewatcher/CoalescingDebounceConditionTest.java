@@ -0,0 +1,106 @@
+package pl.catchex.filewatcher;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pl.catchex.testutil.MutableClock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CoalescingDebounceConditionTest {
+
+    @Test
+    void burstOfEventsFiresOnceAfterQuietPeriod() {
+        // given
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(0), ZoneId.of("UTC"));
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        CoalescingDebounceCondition cond = new CoalescingDebounceCondition(100, 1000, scheduler, clock);
+        AtomicInteger fired = new AtomicInteger();
+
+        // when: three events within the quiet period
+        assertTrue(cond.submit(fired::incrementAndGet));
+        clock.addMillis(40);
+        cond.submit(fired::incrementAndGet);
+        clock.addMillis(40);
+        cond.submit(fired::incrementAndGet);
+
+        // then: one timer armed, nothing fired yet
+        ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(timer.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(0, fired.get());
+
+        // when: first timer expires while the burst is still quiet for only 20 ms
+        clock.addMillis(20);
+        timer.getValue().run();
+
+        // then: rescheduled for the rest of the quiet period
+        verify(scheduler).schedule(any(Runnable.class), eq(80L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(0, fired.get());
+
+        // when
+        clock.addMillis(80);
+        timer.getValue().run();
+
+        // then
+        assertEquals(1, fired.get());
+    }
+
+    @Test
+    void continuousWriterFiresAfterMaxWait() {
+        // given
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(0), ZoneId.of("UTC"));
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        CoalescingDebounceCondition cond = new CoalescingDebounceCondition(100, 250, scheduler, clock);
+        AtomicInteger fired = new AtomicInteger();
+        ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+
+        // when: an event every 50 ms, running the timer whenever it is due
+        cond.submit(fired::incrementAndGet);
+        verify(scheduler).schedule(timer.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 5; i++) {
+            clock.addMillis(50);
+            cond.submit(fired::incrementAndGet);
+            if (clock.millis() % 100 == 0) {
+                timer.getValue().run();
+            }
+        }
+        clock.addMillis(50);
+        timer.getValue().run();
+
+        // then: the burst is capped at maxWait and fired exactly once
+        assertEquals(300, clock.millis());
+        assertEquals(1, fired.get());
+    }
+
+    @Test
+    void nextBurstArmsNewTimer() {
+        // given
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(0), ZoneId.of("UTC"));
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        CoalescingDebounceCondition cond = new CoalescingDebounceCondition(100, 1000, scheduler, clock);
+        AtomicInteger fired = new AtomicInteger();
+        ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+
+        // when
+        cond.submit(fired::incrementAndGet);
+        clock.addMillis(100);
+        verify(scheduler).schedule(timer.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+        timer.getValue().run();
+        cond.submit(fired::incrementAndGet);
+
+        // then
+        assertEquals(1, fired.get());
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(100L), eq(TimeUnit.MILLISECONDS));
+        assertFalse(cond.shouldNotify());
+    }
+}
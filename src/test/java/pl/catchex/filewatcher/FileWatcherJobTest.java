@@ -0,0 +1,92 @@
+package pl.catchex.filewatcher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FileWatcherJobTest {
+
+    private Path tasksFile;
+    private FileWatcher watcher;
+    private FileChangeListener listener;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tasksFile = Files.createTempFile("fwjob", ".md");
+        watcher = new FileWatcher(tasksFile, () -> true);
+        listener = mock(FileChangeListener.class);
+        watcher.addListener(listener);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.stop();
+        Files.deleteIfExists(tasksFile);
+    }
+
+    @Test
+    void createdWatchedFile_notifiesListeners() {
+        // given
+        FileWatcherJob job = new FileWatcherJob(watcher);
+
+        // when
+        job.handleEvent(event(StandardWatchEventKinds.ENTRY_CREATE, tasksFile.getFileName()));
+        job.handleEvent(event(StandardWatchEventKinds.ENTRY_CREATE, Path.of("other.md")));
+        job.handleEvent(event(StandardWatchEventKinds.ENTRY_DELETE, tasksFile.getFileName()));
+
+        // then
+        verify(listener, times(1)).onFileModified(null);
+        verify(listener, never()).onEventsLost(any());
+    }
+
+    @Test
+    void overflow_notifiesEventsLostBypassingCondition() throws IOException {
+        // given
+        FileWatcher suppressing = new FileWatcher(tasksFile, () -> false);
+        FileChangeListener suppressed = mock(FileChangeListener.class);
+        suppressing.addListener(suppressed);
+        FileWatcherJob job = new FileWatcherJob(suppressing);
+
+        // when
+        job.handleEvent(event(StandardWatchEventKinds.OVERFLOW, null));
+
+        // then
+        verify(suppressed).onEventsLost(null);
+        suppressing.stop();
+    }
+
+    @Test
+    void atomicRenameSave_isDetected() throws Exception {
+        // given
+        CountDownLatch changed = new CountDownLatch(1);
+        watcher.addListener(path -> changed.countDown());
+        watcher.start();
+
+        // when: the editor writes a temporary file and renames it over the watched one
+        Path temporary = Files.writeString(tasksFile.resolveSibling(tasksFile.getFileName() + ".tmp"), "- [ ] Buy milk [+]\n");
+        Files.move(temporary, tasksFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // then
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+    }
+
+    private static WatchEvent<Path> event(WatchEvent.Kind<?> kind, Path context) {
+        @SuppressWarnings("unchecked")
+        WatchEvent<Path> event = mock(WatchEvent.class);
+        doReturn(kind).when(event).kind();
+        when(event.context()).thenReturn(context);
+        return event;
+    }
+}
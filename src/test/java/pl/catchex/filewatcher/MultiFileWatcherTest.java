@@ -0,0 +1,173 @@
+package pl.catchex.filewatcher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFileWatcherTest {
+
+    private static final NotificationCondition ALWAYS = () -> true;
+
+    private Path root;
+    private MultiFileWatcher watcher;
+    private final List<Path> notified = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory("multi-file-watcher").toRealPath();
+        watcher = new MultiFileWatcher();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.stop();
+        try (var paths = Files.walk(root)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void filesOfOneDirectory_shareOneWatchAndAreRoutedByName() throws IOException {
+        // given
+        Path work = Files.writeString(root.resolve("work.md"), "- [ ] a");
+        Path home = Files.writeString(root.resolve("home.md"), "- [ ] b");
+        Path other = Files.writeString(Files.createDirectory(root.resolve("other")).resolve("other.md"), "- [ ] c");
+        List<Path> workEvents = new CopyOnWriteArrayList<>();
+        watcher.watchFile(work, ALWAYS, workEvents::add);
+        watcher.watchFile(home, ALWAYS, notified::add);
+        watcher.watchFile(other, ALWAYS, notified::add);
+
+        // when
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_MODIFY, work.getFileName());
+
+        // then
+        assertEquals(2, watcher.getWatchedDirectoryCount());
+        assertEquals(List.of(work), workEvents);
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    void pattern_matchesFilesInAllSubdirectories() throws IOException {
+        // given
+        Path top = Files.writeString(root.resolve("top.md"), "- [ ] a");
+        Path nested = Files.writeString(Files.createDirectories(root.resolve("a/b")).resolve("nested.md"), "- [ ] b");
+        Path text = Files.writeString(root.resolve("a/notes.txt"), "text");
+        watcher.watchPattern(root + "/**/*.md", () -> ALWAYS, notified::add);
+
+        // when
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_MODIFY, top.getFileName());
+        watcher.dispatch(nested.getParent(), StandardWatchEventKinds.ENTRY_MODIFY, nested.getFileName());
+        watcher.dispatch(text.getParent(), StandardWatchEventKinds.ENTRY_MODIFY, text.getFileName());
+
+        // then
+        assertEquals(3, watcher.getWatchedDirectoryCount());
+        assertEquals(List.of(top, nested), notified);
+    }
+
+    @Test
+    void directoryCreatedBelowPattern_isWatchedAndItsFilesReported() throws IOException {
+        // given
+        watcher.watchPattern(root + "/**/*.md", () -> ALWAYS, notified::add);
+        Path created = Files.createDirectory(root.resolve("created"));
+        Path file = Files.writeString(created.resolve("new.md"), "- [ ] a");
+
+        // when
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_CREATE, created.getFileName());
+
+        // then
+        assertEquals(2, watcher.getWatchedDirectoryCount());
+        assertEquals(List.of(file), notified);
+    }
+
+    @Test
+    void modifiedFile_isReportedByDispatchThread() throws Exception {
+        // given
+        Path file = Files.writeString(root.resolve("tasks.md"), "- [ ] a");
+        CountDownLatch changed = new CountDownLatch(1);
+        watcher.watchFile(file, ALWAYS, path -> changed.countDown());
+        watcher.start();
+
+        // when
+        Files.writeString(file, "- [ ] b");
+
+        // then
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void recreatedFileAndOverflow_areReported() throws IOException {
+        // given
+        Path file = Files.writeString(root.resolve("tasks.md"), "- [ ] a");
+        List<Path> lost = new CopyOnWriteArrayList<>();
+        watcher.watchFile(file, () -> false, new FileChangeListener() {
+            @Override
+            public void onFileModified(Path filePath) {
+                notified.add(filePath);
+            }
+
+            @Override
+            public void onEventsLost(Path filePath) {
+                lost.add(filePath);
+            }
+        });
+        List<Path> created = new CopyOnWriteArrayList<>();
+        watcher.watchPattern(root + "/*.md", () -> ALWAYS, created::add);
+
+        // when
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_DELETE, file.getFileName());
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_CREATE, file.getFileName());
+        watcher.dispatch(root, StandardWatchEventKinds.OVERFLOW, null);
+
+        // then: the suppressing condition holds back the change but not the lost events
+        assertTrue(notified.isEmpty());
+        assertEquals(List.of(file), lost);
+        assertEquals(List.of(file, root), created);
+    }
+
+    @Test
+    void deletedDirectory_isWatchedAgainWhenCreatedAgain() throws IOException {
+        // given
+        Path directory = Files.createDirectory(root.resolve("sub"));
+        Path file = Files.writeString(directory.resolve("tasks.md"), "- [ ] a");
+        watcher.watchFile(file, ALWAYS, notified::add);
+        Files.delete(file);
+        Files.delete(directory);
+        watcher.unregister(directory);
+
+        // when
+        Files.createDirectory(directory);
+        Files.writeString(file, "- [ ] b");
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_CREATE, directory.getFileName());
+        watcher.dispatch(directory, StandardWatchEventKinds.ENTRY_MODIFY, file.getFileName());
+
+        // then: the parent is watched while the directory is gone, the subscription survives
+        assertEquals(2, watcher.getWatchedDirectoryCount());
+        assertEquals(List.of(file, file), notified);
+    }
+
+    @Test
+    void deletedFile_dropsItsPatternCondition() throws IOException {
+        // given
+        Path file = Files.writeString(root.resolve("tasks.md"), "- [ ] a");
+        watcher.watchPattern(root + "/*.md", () -> ALWAYS, notified::add);
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_MODIFY, file.getFileName());
+        assertEquals(1, watcher.getTrackedPatternFileCount());
+
+        // when
+        watcher.dispatch(root, StandardWatchEventKinds.ENTRY_DELETE, file.getFileName());
+
+        // then
+        assertEquals(0, watcher.getTrackedPatternFileCount());
+    }
+}
@@ -0,0 +1,141 @@
+package pl.catchex.filewatcher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assumptions;
+import pl.catchex.common.FileStamp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PollingFileWatcherTest {
+
+    private Path directory;
+    private Path tasksFile;
+    private FileChangeListener listener;
+    private PollingFileWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // java.io.tmpdir, point it at a tmpfs mount to exercise a RAM-backed file system
+        directory = Files.createTempDirectory("polling-watcher");
+        tasksFile = Files.writeString(directory.resolve("tasks.md"), "- [ ] Buy milk [+]\n");
+        listener = mock(FileChangeListener.class);
+        watcher = new PollingFileWatcher(tasksFile, () -> true, 100, 800, mock(ScheduledExecutorService.class));
+        watcher.addListener(listener);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.stop();
+        Files.deleteIfExists(tasksFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    void idleFile_backsOffExponentiallyUpToMaximum() {
+        // when / then
+        assertEquals(100, watcher.getIntervalMs());
+        assertFalse(watcher.poll());
+        assertEquals(200, watcher.getIntervalMs());
+        assertFalse(watcher.poll());
+        assertFalse(watcher.poll());
+        assertEquals(800, watcher.getIntervalMs());
+        assertFalse(watcher.poll());
+        assertEquals(800, watcher.getIntervalMs());
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void changedFile_notifiesListenersAndResetsInterval() throws IOException {
+        // given
+        watcher.poll();
+        watcher.poll();
+
+        // when
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n");
+        boolean changed = watcher.poll();
+
+        // then
+        assertTrue(changed);
+        assertEquals(100, watcher.getIntervalMs());
+        verify(listener).onFileModified(null);
+    }
+
+    @Test
+    void atomicRenameWithSameSizeAndTime_isDetectedByFileKey() throws IOException {
+        // given
+        FileTime modified = Files.getLastModifiedTime(tasksFile);
+        Path temporary = Files.writeString(directory.resolve("tasks.md.tmp"), "- [ ] Buy tea! [+]\n");
+        Files.setLastModifiedTime(temporary, modified);
+        assumeFileKeys();
+
+        // when
+        Files.move(temporary, tasksFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // then
+        assertTrue(watcher.poll());
+        verify(listener).onFileModified(null);
+    }
+
+    @Test
+    void deletedFile_isReportedOnlyWhenRecreated() throws IOException {
+        // when
+        Files.delete(tasksFile);
+        boolean deleted = watcher.poll();
+
+        // then
+        assertTrue(deleted);
+        verifyNoInteractions(listener);
+
+        // when
+        Files.writeString(tasksFile, "- [ ] Call mom [++]\n");
+        watcher.poll();
+
+        // then
+        verify(listener).onFileModified(null);
+    }
+
+    @Test
+    void startedWatcher_pollsOnItsOwnThread() throws Exception {
+        // given
+        PollingFileWatcher started = new PollingFileWatcher(tasksFile, () -> true, 10, 50);
+        CountDownLatch changed = new CountDownLatch(1);
+        started.addListener(path -> changed.countDown());
+        started.start();
+
+        try {
+            // when
+            Files.writeString(tasksFile, "- [ ] Buy milk and bread [+]\n");
+
+            // then
+            assertTrue(changed.await(10, TimeUnit.SECONDS));
+        } finally {
+            started.stop();
+        }
+    }
+
+    private void assumeFileKeys() throws IOException {
+        Assumptions.assumeTrue(FileStamp.of(tasksFile).fileKey() != null,
+                "file system without file keys");
+    }
+
+    @Test
+    void remoteFileStores_arePolledButLocalFuseIsNot() {
+        assertTrue(PollingFileWatcher.isUnwatchableFileStoreType("nfs4"));
+        assertTrue(PollingFileWatcher.isUnwatchableFileStoreType("fuse.sshfs"));
+        assertTrue(PollingFileWatcher.isUnwatchableFileStoreType("fuse.rclone"));
+        assertFalse(PollingFileWatcher.isUnwatchableFileStoreType("fuseblk"));
+        assertFalse(PollingFileWatcher.isUnwatchableFileStoreType("ext4"));
+    }
+}
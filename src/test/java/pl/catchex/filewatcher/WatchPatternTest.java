@@ -0,0 +1,57 @@
+package pl.catchex.filewatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchPatternTest {
+
+    @Test
+    void parse_splitsBaseDirectoryAndExpandsHome() {
+        // when
+        WatchPattern pattern = WatchPattern.parse("~/notes/**/*.md", FileSystems.getDefault());
+
+        // then
+        Path base = Path.of(System.getProperty("user.home"), "notes").normalize();
+        assertEquals(base, pattern.baseDirectory());
+        assertTrue(pattern.recursive());
+        assertTrue(pattern.matches(base.resolve("todo.md")));
+        assertTrue(pattern.matches(base.resolve("work/2024/todo.md")));
+        assertFalse(pattern.matches(base.resolve("todo.txt")));
+        assertTrue(pattern.covers(base.resolve("work")));
+    }
+
+    @Test
+    void parse_flatPatternDoesNotCoverSubdirectories() {
+        // when
+        WatchPattern pattern = WatchPattern.parse("/tmp/notes/*.md", FileSystems.getDefault());
+
+        // then
+        assertFalse(pattern.recursive());
+        assertTrue(pattern.matches(Path.of("/tmp/notes/todo.md")));
+        assertFalse(pattern.matches(Path.of("/tmp/notes/work/todo.md")));
+        assertFalse(pattern.covers(Path.of("/tmp/notes/work")));
+    }
+
+    @Test
+    void parse_everyDoubleStarMatchesZeroDirectories() {
+        // when
+        WatchPattern pattern = WatchPattern.parse("/tmp/a/**/b/**/*.md", FileSystems.getDefault());
+
+        // then
+        assertTrue(pattern.matches(Path.of("/tmp/a/b/y.md")));
+        assertTrue(pattern.matches(Path.of("/tmp/a/b/x/y.md")));
+        assertTrue(pattern.matches(Path.of("/tmp/a/x/b/y.md")));
+        assertTrue(pattern.matches(Path.of("/tmp/a/x/b/x/y.md")));
+        assertFalse(pattern.matches(Path.of("/tmp/a/x/y.md")));
+    }
+
+    @Test
+    void parse_rejectsPatternWithoutGlobOrRelative() {
+        assertThrows(IllegalArgumentException.class, () -> WatchPattern.parse("/tmp/notes/todo.md", FileSystems.getDefault()));
+        assertThrows(IllegalArgumentException.class, () -> WatchPattern.parse("notes/*.md", FileSystems.getDefault()));
+    }
+}
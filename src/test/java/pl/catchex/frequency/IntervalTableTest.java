@@ -0,0 +1,34 @@
+package pl.catchex.frequency;
+
+import org.junit.jupiter.api.Test;
+import pl.catchex.config.reader.reminder.BaseIntervalConfiguration;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.model.IntervalMinutes;
+import pl.catchex.model.Task;
+import pl.catchex.testutil.ReminderConfigurations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTableTest {
+
+    @Test
+    void tableHoldsExpeditedIntervalsForEveryPriorityAndUrgency() {
+        // given
+        BaseIntervalConfiguration base = new BaseIntervalConfiguration();
+        base.setLow(30);
+        ReminderConfiguration rc = ReminderConfigurations.standard();
+        rc.setBaseIntervalMinutes(base);
+
+        // when
+        IntervalTable table = IntervalTable.of(rc);
+
+        // then
+        assertEquals(new IntervalMinutes(30), table.get(Task.Priority.LOW, Urgency.NONE));
+        assertEquals(new IntervalMinutes(15), table.get(Task.Priority.LOW, Urgency.URGENT));
+        assertEquals(new IntervalMinutes(8), table.get(Task.Priority.LOW, Urgency.CRITICAL)); // 7.5 rounded
+        assertEquals(new IntervalMinutes(15), table.get(Task.Priority.MEDIUM, Urgency.NONE));
+        assertEquals(new IntervalMinutes(4), table.get(Task.Priority.MEDIUM, Urgency.CRITICAL));
+        assertEquals(new IntervalMinutes(5), table.get(Task.Priority.HIGH, Urgency.URGENT));
+        assertSame(table.get(Task.Priority.HIGH, Urgency.NONE), table.get(Task.Priority.HIGH, Urgency.NONE));
+    }
+}
@@ -1,41 +1,27 @@
 package pl.catchex.frequency;
 
 import org.junit.jupiter.api.Test;
-import pl.catchex.config.reader.reminder.PeriodFactorConfiguration;
-import pl.catchex.config.reader.reminder.PeriodThresholdConfiguration;
 import pl.catchex.config.reader.reminder.ReminderConfiguration;
 import pl.catchex.model.IntervalMinutes;
 import pl.catchex.model.Task;
 import pl.catchex.testutil.MutableClock;
+import pl.catchex.testutil.ReminderConfigurations;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class TaskFrequencyServiceTest {
 
-    private ReminderConfiguration createConfig(double criticalFactor, double urgentFactor, int criticalThreshold, int urgentThreshold) {
-        PeriodFactorConfiguration pf = new PeriodFactorConfiguration();
-        pf.setCritical(criticalFactor);
-        pf.setUrgent(urgentFactor);
-
-        PeriodThresholdConfiguration pt = new PeriodThresholdConfiguration();
-        pt.setCritical(criticalThreshold);
-        pt.setUrgent(urgentThreshold);
-
-        ReminderConfiguration rc = new ReminderConfiguration();
-        rc.setPeriodFactor(pf);
-        rc.setPeriodThreshold(pt);
-        return rc;
-    }
-
     @Test
     void dueDateNull_returnsBaseInterval() {
         // given
         MutableClock clock = new MutableClock(Instant.parse("2025-11-02T00:00:00Z"), ZoneId.of("UTC"));
-        ReminderConfiguration cfg = createConfig(0.5, 0.75, 1, 3);
+        ReminderConfiguration cfg = ReminderConfigurations.of(0.5, 0.75, 1, 3);
         TaskFrequencyService svc = new TaskFrequencyService(clock, cfg);
 
         Task item = new Task.Builder().task("task").priority(Task.Priority.LOW).dueDate(null).build();
@@ -52,7 +38,7 @@ class TaskFrequencyServiceTest {
     void dueDateWithinCritical_appliesCriticalFactor() {
         // given
         MutableClock clock = new MutableClock(Instant.parse("2025-11-02T00:00:00Z"), ZoneId.of("UTC"));
-        ReminderConfiguration cfg = createConfig(0.5, 0.8, 3, 7);
+        ReminderConfiguration cfg = ReminderConfigurations.of(0.5, 0.8, 3, 7);
         TaskFrequencyService svc = new TaskFrequencyService(clock, cfg);
 
         LocalDate due = LocalDate.of(2025, 11, 4); // 2 days from base date -> < criticalThreshold(3)
@@ -71,7 +57,7 @@ class TaskFrequencyServiceTest {
     void dueDateBetweenCriticalAndUrgent_appliesUrgentFactor() {
         // given
         MutableClock clock = new MutableClock(Instant.parse("2025-11-02T00:00:00Z"), ZoneId.of("UTC"));
-        ReminderConfiguration cfg = createConfig(0.4, 0.75, 1, 5);
+        ReminderConfiguration cfg = ReminderConfigurations.of(0.4, 0.75, 1, 5);
         TaskFrequencyService svc = new TaskFrequencyService(clock, cfg);
 
         LocalDate due = LocalDate.of(2025, 11, 5); // 3 days from base date -> >=1 and <5 -> urgent
@@ -90,7 +76,7 @@ class TaskFrequencyServiceTest {
     void dueDateBeyondThreshold_returnsBaseInterval() {
         // given
         MutableClock clock = new MutableClock(Instant.parse("2025-11-02T00:00:00Z"), ZoneId.of("UTC"));
-        ReminderConfiguration cfg = createConfig(0.5, 0.8, 1, 5);
+        ReminderConfiguration cfg = ReminderConfigurations.of(0.5, 0.8, 1, 5);
         TaskFrequencyService svc = new TaskFrequencyService(clock, cfg);
 
         LocalDate due = LocalDate.of(2026, 1, 15); // far future
@@ -104,4 +90,75 @@ class TaskFrequencyServiceTest {
 
         assertEquals(expected.value(), result.value());
     }
+
+    @Test
+    void dueDateInOneMonth_isNotCritical() {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2025-11-02T00:00:00Z"), ZoneId.of("UTC"));
+        ReminderConfiguration cfg = ReminderConfigurations.of(0.5, 0.8, 1, 3);
+        TaskFrequencyService svc = new TaskFrequencyService(clock, cfg);
+
+        LocalDate due = LocalDate.of(2025, 12, 2); // 1 month and 0 days -> 30 days left
+        Task item = new Task.Builder().task("t").priority(Task.Priority.HIGH).dueDate(due).build();
+
+        // when / then
+        assertEquals(Urgency.NONE, svc.urgencyOf(item));
+        assertEquals(10, svc.calculateTaskInterval(item).value());
+    }
+
+    @Test
+    void cachedToday_followsClockAcrossMidnight() {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2025-11-02T23:59:59Z"), ZoneId.of("UTC"));
+        ReminderConfiguration cfg = ReminderConfigurations.of(0.5, 0.8, 1, 3);
+        TaskFrequencyService svc = new TaskFrequencyService(clock, cfg);
+        Task item = new Task.Builder().task("t").dueDate(LocalDate.of(2025, 11, 5)).build();
+
+        // when / then
+        assertEquals(LocalDate.of(2025, 11, 2), svc.today());
+        assertEquals(Urgency.NONE, svc.urgencyOf(item)); // 3 days left
+
+        clock.addMillis(1000);
+        assertEquals(LocalDate.of(2025, 11, 3), svc.today());
+        assertEquals(Urgency.URGENT, svc.urgencyOf(item)); // 2 days left
+    }
+
+    @Test
+    void calculateIntervals_matchesSingleCalculation() {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2025-11-02T00:00:00Z"), ZoneId.of("UTC"));
+        ReminderConfiguration cfg = ReminderConfigurations.of(0.25, 0.5, 1, 3);
+        TaskFrequencyService svc = new TaskFrequencyService(clock, cfg);
+        List<Task> tasks = List.of(
+                new Task.Builder().task("a").priority(Task.Priority.LOW).dueDate(null).build(),
+                new Task.Builder().task("b").priority(Task.Priority.MEDIUM).dueDate(LocalDate.of(2025, 11, 2)).build(),
+                new Task.Builder().task("c").priority(Task.Priority.HIGH).dueDate(LocalDate.of(2025, 11, 4)).build(),
+                new Task.Builder().task("d").priority(Task.Priority.HIGH).dueDate(LocalDate.of(2026, 2, 1)).build()
+        );
+
+        // when
+        Map<Task, IntervalMinutes> intervals = svc.calculateIntervals(tasks);
+
+        // then
+        assertEquals(tasks.size(), intervals.size());
+        for (Task task : tasks) {
+            assertEquals(svc.calculateTaskInterval(task), intervals.get(task));
+        }
+    }
+
+    @Test
+    void reconfigure_rebuildsIntervals() {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2025-11-02T00:00:00Z"), ZoneId.of("UTC"));
+        TaskFrequencyService svc = new TaskFrequencyService(clock, ReminderConfigurations.of(0.5, 0.8, 1, 3));
+        Task item = new Task.Builder().task("t").priority(Task.Priority.HIGH).dueDate(LocalDate.of(2025, 11, 4)).build();
+        assertEquals(8, svc.calculateTaskInterval(item).value()); // urgent: 10 * 0.8
+
+        // when
+        svc.reconfigure(ReminderConfigurations.of(0.5, 0.3, 1, 2));
+
+        // then: 2 days left is no longer urgent
+        assertEquals(Urgency.NONE, svc.urgencyOf(item));
+        assertEquals(10, svc.calculateTaskInterval(item).value());
+    }
 }
@@ -0,0 +1,99 @@
+package pl.catchex.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRepositoryIndexTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private TaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TaskRepository();
+    }
+
+    @Test
+    void queriesUseIndexedPriorityAndDueDate() {
+        // given
+        Task highToday = task("high today", Task.Priority.HIGH, TODAY);
+        Task highIn3Days = task("high in 3 days", Task.Priority.HIGH, TODAY.plusDays(3));
+        Task highIn4Days = task("high in 4 days", Task.Priority.HIGH, TODAY.plusDays(4));
+        Task lowTomorrow = task("low tomorrow", Task.Priority.LOW, TODAY.plusDays(1));
+        Task highUndated = task("high undated", Task.Priority.HIGH, null);
+        repository.apply(new TaskDelta(Set.of(), Set.of(highToday, highIn3Days, highIn4Days, lowTomorrow, highUndated)));
+
+        // when / then
+        assertEquals(Set.of(highToday, highIn3Days, highIn4Days, highUndated), repository.findByPriority(Task.Priority.HIGH));
+        assertEquals(Set.of(), repository.findByPriority(Task.Priority.MEDIUM));
+        assertEquals(List.of(highToday, lowTomorrow, highIn3Days), repository.findDueBetween(TODAY, TODAY.plusDays(3)));
+        assertEquals(List.of(highToday, highIn3Days), repository.findDueBetween(Task.Priority.HIGH, TODAY, TODAY.plusDays(3)));
+        assertEquals(List.of(), repository.findDueBetween(TODAY.plusDays(3), TODAY));
+    }
+
+    @Test
+    void indexesFollowRemovals() {
+        // given
+        Task high = task("high", Task.Priority.HIGH, TODAY);
+        Task low = task("low", Task.Priority.LOW, TODAY);
+        repository.add(high);
+        repository.add(low);
+        Set<Task> highBefore = repository.findByPriority(Task.Priority.HIGH);
+
+        // when
+        repository.remove(high);
+
+        // then
+        assertEquals(Set.of(high), highBefore);
+        assertEquals(Set.of(), repository.findByPriority(Task.Priority.HIGH));
+        assertEquals(List.of(low), repository.findDueBetween(TODAY, TODAY));
+        assertEquals(List.of(), repository.findDueBetween(Task.Priority.HIGH, TODAY, TODAY));
+    }
+
+    @Test
+    void indexesMatchFullScanAfterRandomChanges() {
+        // given
+        Random random = new Random(11);
+        Task.Priority[] priorities = Task.Priority.values();
+
+        for (int round = 0; round < 200; round++) {
+            // when
+            Set<Task> target = random.ints(random.nextInt(30), 0, 60)
+                    .mapToObj(i -> task("t" + i, priorities[i % 3], i % 7 == 0 ? null : TODAY.plusDays(i % 10)))
+                    .collect(Collectors.toSet());
+            repository.apply(TaskDelta.between(repository.getAll(), target));
+
+            // then
+            LocalDate from = TODAY.plusDays(random.nextInt(5));
+            LocalDate to = from.plusDays(random.nextInt(5));
+            for (Task.Priority priority : priorities) {
+                assertEquals(scan(target, priority, null, null), repository.findByPriority(priority));
+                assertEquals(scan(target, priority, from, to), Set.copyOf(repository.findDueBetween(priority, from, to)));
+            }
+            List<Task> due = repository.findDueBetween(from, to);
+            assertEquals(scan(target, null, from, to), Set.copyOf(due));
+            for (int i = 1; i < due.size(); i++) {
+                assertFalse(due.get(i).dueDate().isBefore(due.get(i - 1).dueDate()));
+            }
+        }
+    }
+
+    private static Set<Task> scan(Set<Task> tasks, Task.Priority priority, LocalDate from, LocalDate to) {
+        return tasks.stream()
+                .filter(t -> priority == null || t.priority() == priority)
+                .filter(t -> from == null || (t.dueDate() != null && !t.dueDate().isBefore(from) && !t.dueDate().isAfter(to)))
+                .collect(Collectors.toSet());
+    }
+
+    private static Task task(String text, Task.Priority priority, LocalDate dueDate) {
+        return new Task.Builder().task(text).priority(priority).dueDate(dueDate).build();
+    }
+}
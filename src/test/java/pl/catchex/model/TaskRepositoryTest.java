@@ -4,6 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -119,4 +124,253 @@ class TaskRepositoryTest {
         // then
         verify(listener, times(0)).onTaskRemoved(item);
     }
+
+    @Test
+    void applyNotifiesListenersOnceWithAppliedChanges() {
+        // given
+        Task kept = new Task.Builder().task("kept").build();
+        Task stale = new Task.Builder().task("stale").build();
+        Task fresh = new Task.Builder().task("fresh").build();
+        Task missing = new Task.Builder().task("missing").build();
+        repository.add(kept);
+        repository.add(stale);
+        TaskRepositoryListener listener = mock(TaskRepositoryListener.class);
+        repository.addListener(listener);
+
+        // when
+        TaskDelta applied = repository.apply(new TaskDelta(Set.of(stale, missing), Set.of(kept, fresh)));
+
+        // then
+        assertEquals(new TaskDelta(Set.of(stale), Set.of(fresh)), applied);
+        assertEquals(Set.of(kept, fresh), repository.getAll());
+        verify(listener, times(1)).onTasksChanged(applied);
+        verify(listener, never()).onTaskAdded(any());
+        verify(listener, never()).onTaskRemoved(any());
+    }
+
+    @Test
+    void applyFallsBackToPerItemCallbacksByDefault() {
+        // given
+        Task stale = new Task.Builder().task("stale").build();
+        Task fresh = new Task.Builder().task("fresh").build();
+        repository.add(stale);
+        List<String> events = new ArrayList<>();
+        repository.addListener(new TaskRepositoryListener() {
+            @Override
+            public void onTaskAdded(Task item) {
+                events.add("added " + item.task());
+            }
+
+            @Override
+            public void onTaskRemoved(Task item) {
+                events.add("removed " + item.task());
+            }
+        });
+
+        // when
+        repository.apply(TaskDelta.between(repository.getAll(), Set.of(fresh)));
+
+        // then
+        assertEquals(List.of("removed stale", "added fresh"), events);
+    }
+
+    @Test
+    void applyWithoutEffectDoesNotNotify() {
+        // given
+        Task item = new Task.Builder().task("t6").build();
+        repository.add(item);
+        TaskRepositoryListener listener = mock(TaskRepositoryListener.class);
+        repository.addListener(listener);
+
+        // when
+        TaskDelta applied = repository.apply(new TaskDelta(Set.of(), Set.of(item)));
+
+        // then
+        assertTrue(applied.isEmpty());
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void snapshotIsImmutableAndVersioned() {
+        // given
+        Task first = new Task.Builder().task("first").build();
+        Task second = new Task.Builder().task("second").build();
+        repository.add(first);
+        TaskSnapshot before = repository.snapshot();
+
+        // when
+        repository.add(second);
+        repository.add(second);
+
+        // then
+        assertEquals(Set.of(first), before.tasks());
+        assertSame(repository.getAll(), repository.getAll());
+        assertEquals(before.version() + 1, repository.version());
+        assertThrows(UnsupportedOperationException.class, () -> repository.getAll().add(first));
+    }
+
+    @Test
+    void changesSinceCombinesRetainedDeltas() {
+        // given
+        Task first = new Task.Builder().task("first").build();
+        Task second = new Task.Builder().task("second").build();
+        Task third = new Task.Builder().task("third").build();
+        repository.add(first);
+        long seen = repository.version();
+
+        // when
+        repository.add(second);
+        repository.remove(first);
+        repository.add(third);
+        repository.remove(third);
+
+        // then
+        assertEquals(Optional.of(new TaskDelta(Set.of(first), Set.of(second))), repository.changesSince(seen));
+        assertEquals(Optional.of(new TaskDelta(Set.of(), Set.of())), repository.changesSince(repository.version()));
+        assertEquals(Optional.empty(), repository.changesSince(repository.version() + 1));
+    }
+
+    @Test
+    void changesSinceIsEmptyWhenHistoryWasDropped() {
+        // given
+        long seen = repository.version();
+
+        // when
+        for (int i = 0; i <= TaskRepository.DELTA_HISTORY_SIZE; i++) {
+            repository.add(new Task.Builder().task("t" + i).build());
+        }
+
+        // then
+        assertTrue(repository.changesSince(seen).isEmpty());
+        assertTrue(repository.changesSince(seen + 1).isPresent());
+    }
+
+    @Test
+    void applyUpdate_replacesTaskAndNotifiesUpdate() {
+        // given
+        Task before = new Task.Builder().task("t1").priority(Task.Priority.LOW).build();
+        Task after = new Task.Builder().task("t1").priority(Task.Priority.HIGH).build();
+        repository.add(before);
+        TaskRepositoryListener listener = mock(TaskRepositoryListener.class);
+        doCallRealMethod().when(listener).onTasksChanged(any());
+        repository.addListener(listener);
+        long version = repository.version();
+
+        // when
+        TaskDelta applied = repository.apply(new TaskDelta(Set.of(), Set.of(), Set.of(new TaskUpdate(before, after))));
+
+        // then
+        assertEquals(Set.of(new TaskUpdate(before, after)), applied.updated());
+        assertEquals(Set.of(after), repository.getAll());
+        assertEquals(Set.of(after), repository.findByPriority(Task.Priority.HIGH));
+        verify(listener).onTaskUpdated(before, after);
+        verify(listener, never()).onTaskRemoved(any());
+        verify(listener, never()).onTaskAdded(any());
+        assertEquals(Optional.of(new TaskDelta(Set.of(before), Set.of(after))), repository.changesSince(version));
+    }
+
+    @Test
+    void applyUpdate_ofMissingTask_fallsBackToAddition() {
+        // given
+        Task before = new Task.Builder().task("t1").priority(Task.Priority.LOW).build();
+        Task after = new Task.Builder().task("t1").priority(Task.Priority.HIGH).build();
+
+        // when
+        TaskDelta applied = repository.apply(new TaskDelta(Set.of(), Set.of(), Set.of(new TaskUpdate(before, after))));
+
+        // then
+        assertEquals(new TaskDelta(Set.of(), Set.of(after)), applied);
+        assertEquals(Set.of(after), repository.getAll());
+    }
+
+    @Test
+    void applyUpdates_sharingEditedTask_removeBothOriginals() {
+        // given
+        Task first = new Task.Builder().task("t1").priority(Task.Priority.LOW).build();
+        Task second = new Task.Builder().task("t1").priority(Task.Priority.MEDIUM).build();
+        Task after = new Task.Builder().task("t1").priority(Task.Priority.HIGH).build();
+        repository.add(first);
+        repository.add(second);
+
+        // when: only one of the two updates can be applied as an edit
+        TaskDelta applied = repository.apply(new TaskDelta(Set.of(), Set.of(),
+                Set.of(new TaskUpdate(first, after), new TaskUpdate(second, after))));
+
+        // then: the other one falls back to a removal
+        assertEquals(Set.of(after), repository.getAll());
+        assertEquals(1, applied.updated().size());
+        assertEquals(1, applied.removed().size());
+        assertTrue(applied.added().isEmpty());
+    }
+
+    @Test
+    void applyRecount_tracksOccurrencesAndNotifiesCountChange() {
+        // given
+        Task duplicated = new Task.Builder().task("t1").priority(Task.Priority.LOW).build();
+        Task single = new Task.Builder().task("t2").priority(Task.Priority.LOW).build();
+        TaskRepositoryListener listener = mock(TaskRepositoryListener.class);
+        doCallRealMethod().when(listener).onTasksChanged(any());
+        repository.apply(TaskDelta.between(repository.snapshot(), Map.of(duplicated, 2, single, 1)));
+        repository.addListener(listener);
+        long version = repository.version();
+
+        // when: one copy of the duplicated task is deleted
+        TaskDelta applied = repository.apply(TaskDelta.between(repository.snapshot(), Map.of(duplicated, 1, single, 1)));
+
+        // then
+        assertEquals(Map.of(duplicated, 1), applied.recounted());
+        assertEquals(1, repository.count(duplicated));
+        assertEquals(Set.of(duplicated, single), repository.getAll());
+        assertEquals(version + 1, repository.version());
+        verify(listener).onTaskCountChanged(duplicated, 1);
+        verify(listener, never()).onTaskRemoved(any());
+        verify(listener, never()).onTaskAdded(any());
+    }
+
+    @Test
+    void applyRecount_ofMissingOrUnchangedTask_isIgnored() {
+        // given
+        Task stored = new Task.Builder().task("t1").priority(Task.Priority.LOW).build();
+        Task missing = new Task.Builder().task("t2").priority(Task.Priority.LOW).build();
+        repository.add(stored);
+        long version = repository.version();
+
+        // when
+        TaskDelta applied = repository.apply(new TaskDelta(Set.of(), Set.of(), Set.of(), Map.of(stored, 1, missing, 3)));
+
+        // then
+        assertTrue(applied.isEmpty());
+        assertEquals(version, repository.version());
+        assertEquals(0, repository.count(missing));
+    }
+
+    @Test
+    void removingDuplicatedTask_removesAllOccurrences() {
+        // given
+        Task duplicated = new Task.Builder().task("t1").priority(Task.Priority.LOW).build();
+        repository.apply(new TaskDelta(Set.of(), Set.of(duplicated), Set.of(), Map.of(duplicated, 3)));
+
+        // when
+        boolean removed = repository.remove(duplicated);
+
+        // then
+        assertTrue(removed);
+        assertEquals(0, repository.count(duplicated));
+        assertTrue(repository.snapshot().multiples().isEmpty());
+    }
+
+    @Test
+    void between_countsDiffersAsRecounted() {
+        // given
+        Task a = new Task.Builder().task("a").priority(Task.Priority.LOW).build();
+        Task b = new Task.Builder().task("b").priority(Task.Priority.LOW).build();
+        Task c = new Task.Builder().task("c").priority(Task.Priority.LOW).build();
+        TaskSnapshot current = new TaskSnapshot(1, Set.of(a, b), Map.of(a, 2));
+
+        // when
+        TaskDelta delta = TaskDelta.between(current, Map.of(a, 3, c, 2));
+
+        // then
+        assertEquals(new TaskDelta(Set.of(b), Set.of(c), Set.of(), Map.of(a, 3, c, 2)), delta);
+    }
 }
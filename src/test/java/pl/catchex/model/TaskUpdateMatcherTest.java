@@ -0,0 +1,73 @@
+package pl.catchex.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskUpdateMatcherTest {
+
+    @Test
+    void changedPriorityAndDueDate_isRecognizedAsUpdate() {
+        // given
+        Task before = new Task("Buy milk", Task.Priority.LOW, null);
+        Task after = new Task("Buy milk", Task.Priority.HIGH, LocalDate.of(2099, 1, 1));
+        Task unrelated = new Task("Call mom", Task.Priority.MEDIUM, null);
+
+        // when
+        TaskDelta delta = TaskUpdateMatcher.match(
+                new TaskDelta(Set.of(before), Set.of(after, unrelated)),
+                Map.of(before, 0), Map.of(after, 0, unrelated, 1));
+
+        // then
+        assertEquals(Set.of(new TaskUpdate(before, after)), delta.updated());
+        assertEquals(Set.of(), delta.removed());
+        assertEquals(Set.of(unrelated), delta.added());
+    }
+
+    @Test
+    void duplicatedDescriptions_arePairedByClosestLine() {
+        // given: "Water plants" on lines 0 and 5, both get a new priority
+        Task first = new Task("Water plants", Task.Priority.LOW, LocalDate.of(2099, 1, 1));
+        Task second = new Task("Water plants", Task.Priority.LOW, LocalDate.of(2099, 2, 1));
+        Task firstEdited = new Task("Water plants", Task.Priority.HIGH, LocalDate.of(2099, 1, 1));
+        Task secondEdited = new Task("Water plants", Task.Priority.HIGH, LocalDate.of(2099, 2, 1));
+
+        // when
+        TaskDelta delta = TaskUpdateMatcher.match(
+                new TaskDelta(Set.of(first, second), Set.of(firstEdited, secondEdited)),
+                Map.of(first, 0, second, 5), Map.of(firstEdited, 0, secondEdited, 5));
+
+        // then
+        assertEquals(Set.of(new TaskUpdate(first, firstEdited), new TaskUpdate(second, secondEdited)), delta.updated());
+    }
+
+    @Test
+    void similarDescriptionOnSameLine_isRecognizedAsUpdate_unrelatedIsNot() {
+        // given
+        Task typo = new Task("Prepare quartely report", Task.Priority.MEDIUM, null);
+        Task fixed = new Task("Prepare quarterly report", Task.Priority.MEDIUM, null);
+        Task removed = new Task("Book flights", Task.Priority.MEDIUM, null);
+        Task added = new Task("Renew passport", Task.Priority.MEDIUM, null);
+
+        // when
+        TaskDelta delta = TaskUpdateMatcher.match(
+                new TaskDelta(Set.of(typo, removed), Set.of(fixed, added)),
+                Map.of(typo, 0, removed, 1), Map.of(fixed, 0, added, 1));
+
+        // then
+        assertEquals(Set.of(new TaskUpdate(typo, fixed)), delta.updated());
+        assertEquals(Set.of(removed), delta.removed());
+        assertEquals(Set.of(added), delta.added());
+    }
+
+    @Test
+    void similarity_isOneMinusNormalizedEditDistance() {
+        assertEquals(1.0, TaskUpdateMatcher.similarity("abc", "abc"));
+        assertEquals(0.75, TaskUpdateMatcher.similarity("abcd", "abxd"));
+        assertEquals(0.0, TaskUpdateMatcher.similarity("abc", "xyz"));
+    }
+}
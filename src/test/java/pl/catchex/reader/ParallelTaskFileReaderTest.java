@@ -0,0 +1,128 @@
+package pl.catchex.reader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.catchex.config.reader.taskConfiguration.ReadMode;
+import pl.catchex.model.Task;
+import pl.catchex.reader.lineparser.TaskLineParserDispatcher;
+import pl.catchex.testutil.TaskParsing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ParallelTaskFileReaderTest {
+
+    @TempDir
+    Path tempDir;
+    private Path tasksFile;
+    private TaskLineParserDispatcher dispatcher;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tasksFile = Files.createFile(tempDir.resolve("tasks.md"));
+        dispatcher = TaskParsing.dispatcher();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallelRead_keepsFileOrder() throws IOException {
+        // given
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            content.append("## section ").append(i).append('\n');
+            content.append("- [ ] task ").append(i).append(i % 3 == 0 ? " [+++] [12/12/2099]" : " [+]").append("\r\n");
+            content.append("- [x] done ").append(i).append('\n');
+        }
+        content.append("- [ ] trailing task without terminator");
+        Files.writeString(tasksFile, content, StandardCharsets.UTF_8);
+        ParallelTaskFileReader parallelReader = new ParallelTaskFileReader(new MappedTaskFileReader(dispatcher), pool, 256);
+
+        // when
+        List<Task> expected = new TaskReader(dispatcher, tasksFile, ReadMode.STREAMING).read();
+        List<Task> actual = new ArrayList<>();
+        parallelReader.read(tasksFile, new TaskLineCache().beginPass(), actual::add);
+
+        // then
+        assertEquals(5_001, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void chunkBounds_startRightAfterLineFeed() {
+        // given
+        byte[] bytes = "- [ ] a [+]\n- [ ] bb [++]\r\n- [ ] ccc [+++]\n- [ ] dddd\n".getBytes(StandardCharsets.UTF_8);
+        ParallelTaskFileReader parallelReader = new ParallelTaskFileReader(new MappedTaskFileReader(dispatcher), pool, 4);
+
+        // when
+        int[] bounds = parallelReader.chunkBounds(ByteBuffer.wrap(bytes), bytes.length);
+
+        // then
+        assertEquals(0, bounds[0]);
+        assertEquals(bytes.length, bounds[bounds.length - 1]);
+        for (int i = 1; i < bounds.length - 1; i++) {
+            assertEquals('\n', bytes[bounds[i] - 1], "Chunk must start after a line feed");
+            assertTrue(bounds[i] > bounds[i - 1]);
+        }
+    }
+
+    @Test
+    void parallelMode_belowThresholdReadsSequentially() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] small file [+]\n", StandardCharsets.UTF_8);
+        TaskReader reader = new TaskReader(dispatcher, tasksFile, ReadMode.PARALLEL, 1024);
+
+        // when
+        List<Task> tasks = reader.read();
+
+        // then
+        assertEquals(List.of(new Task("small file", Task.Priority.LOW, null)), tasks);
+    }
+
+    @Test
+    void parallelRead_reportsFileTruncatedDuringRead() throws IOException {
+        // given: a file of several pages, truncated while its first chunk is parsed
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            content.append("- [ ] task ").append(i).append(" [+]\n");
+        }
+        Files.writeString(tasksFile, content, StandardCharsets.UTF_8);
+        TaskLineParserDispatcher truncating = spy(dispatcher);
+        AtomicBoolean truncated = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (truncated.compareAndSet(false, true)) {
+                try (FileChannel channel = FileChannel.open(tasksFile, StandardOpenOption.WRITE)) {
+                    channel.truncate(0);
+                }
+            }
+            return invocation.callRealMethod();
+        }).when(truncating).parse(anyString());
+        ParallelTaskFileReader parallelReader = new ParallelTaskFileReader(new MappedTaskFileReader(truncating), pool, 256);
+        List<Task> tasks = new ArrayList<>();
+
+        // when / then
+        IOException e = assertThrows(IOException.class,
+                () -> parallelReader.read(tasksFile, new TaskLineCache().beginPass(), tasks::add));
+        assertTrue(e.getMessage().contains("truncated"));
+        assertTrue(tasks.isEmpty());
+    }
+}
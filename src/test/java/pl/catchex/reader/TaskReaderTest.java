@@ -0,0 +1,204 @@
+package pl.catchex.reader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.catchex.config.reader.taskConfiguration.ReadMode;
+import pl.catchex.model.Task;
+import pl.catchex.reader.lineparser.TaskLineParserDispatcher;
+import pl.catchex.testutil.TaskParsing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskReaderTest {
+
+    @TempDir
+    Path tempDir;
+    private Path tasksFile;
+    private TaskLineParserDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tasksFile = Files.createFile(tempDir.resolve("tasks.md"));
+        dispatcher = TaskParsing.dispatcher();
+    }
+
+    @Test
+    void read_returnsTasksInFileOrder() throws IOException {
+        // given
+        Files.writeString(tasksFile, String.join("\n",
+                "# Tasks",
+                "- [ ] Buy milk [+++]",
+                "- [x] Done already",
+                "some prose",
+                "- [ ] Go for a walk [+] [12/12/2099]",
+                "- [ ] Read a book"
+        ), StandardCharsets.UTF_8);
+        TaskReader reader = new TaskReader(dispatcher, tasksFile);
+
+        // when
+        List<Task> tasks = reader.read();
+
+        // then
+        assertEquals(List.of(
+                new Task("Buy milk", Task.Priority.HIGH, null),
+                new Task("Go for a walk", Task.Priority.LOW, LocalDate.of(2099, 12, 12)),
+                new Task("Read a book", Task.Priority.MEDIUM, null)
+        ), tasks);
+    }
+
+    @Test
+    void read_streamsLargeFileToConsumerAndCollector() throws IOException {
+        // given: enough lines to span many read buffers, with mixed line terminators
+        StringBuilder content = new StringBuilder();
+        int taskCount = 20_000;
+        for (int i = 0; i < taskCount; i++) {
+            content.append("- [ ] task number ").append(i).append(" [++]").append(i % 2 == 0 ? "\n" : "\r\n");
+            content.append("prose line ").append(i).append('\n');
+        }
+        Files.writeString(tasksFile, content, StandardCharsets.UTF_8);
+        TaskReader reader = new TaskReader(dispatcher, tasksFile);
+
+        // when
+        List<Task> streamed = new ArrayList<>();
+        reader.read(streamed::add);
+        Set<Task> collected = reader.read(Collectors.toSet());
+
+        // then
+        assertEquals(taskCount, streamed.size());
+        assertEquals(new Task("task number 0", Task.Priority.MEDIUM, null), streamed.get(0));
+        assertEquals(new Task("task number " + (taskCount - 1), Task.Priority.MEDIUM, null), streamed.get(taskCount - 1));
+        assertEquals(Set.copyOf(streamed), collected);
+    }
+
+    @Test
+    void mappedMode_matchesStreamingMode() throws IOException {
+        // given
+        Files.writeString(tasksFile, String.join("",
+                "# Zadania \u2013 lista\n",
+                "- [ ] Kupi\u0107 mleko [+++]\r\n",
+                "- [x] Done already\r",
+                "- [ ] Go for a walk [+] [12/12/2099]\r",
+                "\n",
+                "- [ ]\n",
+                "- [ ] \uD83D\uDE80 launch [++]\n",
+                "- [ ] last line without terminator"
+        ), StandardCharsets.UTF_8);
+        TaskReader streaming = new TaskReader(dispatcher, tasksFile, ReadMode.STREAMING);
+        TaskReader mapped = new TaskReader(dispatcher, tasksFile, ReadMode.MAPPED);
+
+        // when
+        List<Task> expected = streaming.read();
+        List<Task> actual = mapped.read();
+
+        // then
+        assertEquals(4, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void mappedMode_carriesIncompleteLineOverWindowBoundary() throws IOException {
+        // given
+        byte[] bytes = "- [ ] first [+]\r\n- [ ] second [+++]\n".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        MappedTaskFileReader reader = new MappedTaskFileReader(dispatcher);
+        TaskLineCache.Pass pass = new TaskLineCache().beginPass();
+        List<Task> tasks = new ArrayList<>();
+        int boundary = "- [ ] first [+]\r".length();
+
+        // when: the first window ends between '\r' and '\n', the second one covers the rest
+        int consumed = reader.parseLines(buffer, 0, boundary, false, StandardCharsets.UTF_8.newDecoder(), pass, tasks::add);
+        int rest = reader.parseLines(buffer, consumed, bytes.length, true, StandardCharsets.UTF_8.newDecoder(), pass, tasks::add);
+
+        // then
+        assertEquals(0, consumed);
+        assertEquals(bytes.length, rest);
+        assertEquals(List.of(
+                new Task("first", Task.Priority.LOW, null),
+                new Task("second", Task.Priority.HIGH, null)
+        ), tasks);
+    }
+
+    @Test
+    void mappedMode_emptyFileYieldsNoTasks() throws IOException {
+        // given
+        TaskReader reader = new TaskReader(dispatcher, tasksFile, ReadMode.MAPPED);
+
+        // when / then
+        assertTrue(reader.read().isEmpty());
+    }
+
+    @Test
+    void reRead_parsesOnlyChangedLinesAndReusesCachedTasks() throws IOException {
+        for (ReadMode mode : ReadMode.values()) {
+            // given
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                lines.add("- [ ] task " + i + " [++]");
+                lines.add("prose " + i);
+            }
+            Files.write(tasksFile, lines, StandardCharsets.UTF_8);
+            TaskLineParserDispatcher countingDispatcher = spy(dispatcher);
+            TaskReader reader = new TaskReader(countingDispatcher, tasksFile, mode, 1);
+            List<Task> first = reader.read();
+
+            // when: one task line is edited
+            lines.set(1_000, "- [ ] task 500 [+++]");
+            Files.write(tasksFile, lines, StandardCharsets.UTF_8);
+            clearInvocations(countingDispatcher);
+            List<Task> second = reader.read();
+
+            // then
+            verify(countingDispatcher, times(1)).parse(anyString());
+            assertEquals(new Task("task 500", Task.Priority.HIGH, null), second.get(500));
+            assertSame(first.get(0), second.get(0), "Unchanged line must reuse the cached task in mode " + mode);
+            assertEquals(1_000, reader.cachedLineCount());
+        }
+    }
+
+    @Test
+    void read_missingFileThrowsIOException() throws IOException {
+        // given
+        Files.deleteIfExists(tasksFile);
+        TaskReader reader = new TaskReader(dispatcher, tasksFile);
+
+        // when / then
+        assertThrows(IOException.class, reader::read);
+    }
+
+    @Test
+    void mappedRead_reportsFileTruncatedDuringRead() throws IOException {
+        // given: a file of several pages, truncated after its first task line was parsed
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            content.append("- [ ] task ").append(i).append(" [+]\n");
+        }
+        Files.writeString(tasksFile, content, StandardCharsets.UTF_8);
+        TaskLineParserDispatcher truncating = spy(dispatcher);
+        doAnswer(invocation -> {
+            try (FileChannel channel = FileChannel.open(tasksFile, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+            }
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(truncating).parse(anyString());
+        TaskReader reader = new TaskReader(truncating, tasksFile, ReadMode.MAPPED);
+
+        // when / then
+        IOException e = assertThrows(IOException.class, reader::read);
+        assertTrue(e.getMessage().contains("truncated"));
+    }
+}
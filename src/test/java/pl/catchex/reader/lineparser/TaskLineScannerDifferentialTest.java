@@ -0,0 +1,109 @@
+package pl.catchex.reader.lineparser;
+
+import org.junit.jupiter.api.Test;
+import pl.catchex.common.DateParser;
+import pl.catchex.model.Task;
+import pl.catchex.reader.PriorityParser;
+import pl.catchex.testutil.TaskParsing;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskLineScannerDifferentialTest {
+
+    private static final String[] TOKENS = {
+            "- [ ] ", "- [ ]", "- [x] ", "a", "Buy milk", " ", "  ", "\t", "[", "]", " [", "] [", "] ",
+            "+", "++", "+++", "12/12/2099", "31/02/2025", "01/01/2030", "x", "\u2028", "\u0085", "\r"
+    };
+
+    private final PriorityParser priorityParser = new PriorityParser(TaskParsing.symbols());
+    private final DateParser dateParser = new DateParser(TaskParsing.DATE_FORMAT);
+
+    private final TaskLineParserDispatcher dispatcher = new TaskLineParserDispatcher(priorityParser, dateParser);
+
+    private final TaskLinePriorityDueDateParser priorityDueDateParser = new TaskLinePriorityDueDateParser(priorityParser, dateParser);
+    private final TaskLinePriorityParser priorityOnlyParser = new TaskLinePriorityParser(priorityParser);
+    private final TaskLineBasicParser basicParser = new TaskLineBasicParser();
+
+    @Test
+    void knownLines_matchRegexCascade() {
+        // given
+        List<String> lines = List.of(
+                "- [ ] Buy milk [+++]",
+                "- [ ] Fix the world [++]",
+                "- [ ] Read a book ",
+                "- [ ] Go for a walk [+++] [12/12/2099]",
+                "- [ ] Go for a walk [+++] [not a date]",
+                "- [ ] a [b] c [+] [12/12/2099]",
+                "- [ ] a [+] [] [x]",
+                "- [ ]  [+]",
+                "- [ ]  [+] [12/12/2099]",
+                "- [ ] text [+] [",
+                "- [ ] text [] []",
+                "- [ ] text ]",
+                "- [ ] ",
+                "- [ ]",
+                "- [ ]text",
+                "- [x] done [+]",
+                "# heading",
+                "",
+                "- [ ] line\u2028break [+]"
+        );
+
+        // when / then
+        for (String line : lines) {
+            assertEquals(cascade(line), dispatcher.parse(line), () -> "Mismatch for line: " + line);
+        }
+    }
+
+    @Test
+    void randomLines_matchRegexCascade() {
+        // given
+        Random random = new Random(20251102L);
+
+        for (int i = 0; i < 5000; i++) {
+            String line = randomLine(random);
+
+            // when
+            Optional<Task> expected = cascade(line);
+            Optional<Task> actual = dispatcher.parse(line);
+
+            // then
+            assertEquals(expected, actual, () -> "Mismatch for line: " + line);
+        }
+    }
+
+    @Test
+    void scannerExtractsAllSpans() {
+        // when
+        Optional<Task> task = dispatcher.parse("- [ ] Go for a walk [+++] [12/12/2099]");
+
+        // then
+        assertEquals(Optional.of(new Task("Go for a walk", Task.Priority.HIGH, LocalDate.of(2099, 12, 12))), task);
+    }
+
+    private Optional<Task> cascade(String line) {
+        if (!line.startsWith("- [ ]")) {
+            return Optional.empty();
+        }
+        return priorityDueDateParser.parse(line)
+                .or(() -> priorityOnlyParser.parse(line))
+                .or(() -> basicParser.parse(line));
+    }
+
+    private static String randomLine(Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextInt(10) > 0) {
+            sb.append("- [ ] ");
+        }
+        int tokens = random.nextInt(8);
+        for (int i = 0; i < tokens; i++) {
+            sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        return sb.toString();
+    }
+}
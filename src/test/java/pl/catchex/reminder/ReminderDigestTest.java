@@ -0,0 +1,132 @@
+package pl.catchex.reminder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import pl.catchex.config.reader.reminder.DigestConfiguration;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.frequency.TaskFrequencyService;
+import pl.catchex.model.Task;
+import pl.catchex.testutil.MutableClock;
+import pl.catchex.testutil.ReminderConfigurations;
+import pl.catchex.tray.NotificationSender;
+
+import java.awt.TrayIcon;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReminderDigestTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 2);
+
+    private NotificationSender sender;
+    private ScheduledExecutorService executor;
+    private TaskFrequencyService frequencyService;
+
+    @BeforeEach
+    void setUp() {
+        sender = mock(NotificationSender.class);
+        executor = mock(ScheduledExecutorService.class);
+
+        ReminderConfiguration rc = ReminderConfigurations.standard();
+        MutableClock clock = new MutableClock(Instant.parse("2025-11-02T08:00:00Z"), ZoneId.of("UTC"));
+        frequencyService = new TaskFrequencyService(clock, rc);
+    }
+
+    @Test
+    void remindersWithinWindow_areSentAsOneDigest() {
+        // given
+        ReminderDigest digest = new ReminderDigest(sender, frequencyService, executor, 2000, 2);
+        Task overdue = task("overdue", Task.Priority.LOW, TODAY.minusDays(1));
+        Task today = task("today", Task.Priority.HIGH, TODAY);
+        Task soon = task("soon", Task.Priority.MEDIUM, TODAY.plusDays(2));
+        Task undated = task("undated", Task.Priority.HIGH, null);
+
+        // when
+        digest.offer(undated);
+        digest.offer(soon);
+        digest.offer(today);
+        digest.offer(overdue);
+
+        // then: one flush is scheduled for the whole window and nothing is sent yet
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(1)).schedule(flush.capture(), eq(2000L), eq(TimeUnit.MILLISECONDS));
+        verifyNoInteractions(sender);
+
+        // when
+        flush.getValue().run();
+
+        // then
+        verify(sender, times(1)).send(ReminderDigest.TITLE,
+                "4 tasks due, 2 critical\n" + overdue + "\n" + today + "\n... and 2 more",
+                TrayIcon.MessageType.INFO);
+    }
+
+    @Test
+    void singleReminder_keepsPlainMessage() {
+        // given
+        ReminderDigest digest = new ReminderDigest(sender, frequencyService, executor, 2000, 5);
+        Task task = task("alone", Task.Priority.MEDIUM, null);
+
+        // when
+        digest.offer(task);
+        digest.flush();
+
+        // then
+        verify(sender).send(ReminderDigest.TITLE, task.toString(), TrayIcon.MessageType.INFO);
+    }
+
+    @Test
+    void nextWindowStartsAfterFlush() {
+        // given
+        ReminderDigest digest = new ReminderDigest(sender, frequencyService, executor, 2000, 5);
+
+        // when
+        digest.offer(task("first", Task.Priority.LOW, null));
+        digest.flush();
+        digest.flush();
+        digest.offer(task("second", Task.Priority.LOW, null));
+
+        // then
+        verify(executor, times(2)).schedule(any(Runnable.class), eq(2000L), eq(TimeUnit.MILLISECONDS));
+        verify(sender, times(1)).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    void zeroWindow_sendsImmediately() {
+        // given
+        ReminderDigest digest = new ReminderDigest(sender, frequencyService, null, 0, 5);
+        Task task = task("now", Task.Priority.HIGH, null);
+
+        // when
+        digest.offer(task);
+
+        // then
+        verify(sender).send(ReminderDigest.TITLE, task.toString(), TrayIcon.MessageType.INFO);
+    }
+
+    @Test
+    void reconfigure_replacesWindow() {
+        // given
+        ReminderDigest digest = new ReminderDigest(sender, frequencyService, executor, 2000, 2);
+        DigestConfiguration configuration = new DigestConfiguration();
+        configuration.setWindowMs(500);
+
+        // when
+        digest.reconfigure(configuration);
+        digest.offer(task("undated", Task.Priority.HIGH, null));
+
+        // then
+        verify(executor).schedule(any(Runnable.class), eq(500L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private static Task task(String text, Task.Priority priority, LocalDate dueDate) {
+        return new Task.Builder().task(text).priority(priority).dueDate(dueDate).build();
+    }
+}
@@ -0,0 +1,206 @@
+package pl.catchex.reminder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+import pl.catchex.frequency.TaskFrequencyService;
+import pl.catchex.model.Task;
+import pl.catchex.model.TaskDelta;
+import pl.catchex.model.TaskUpdate;
+import pl.catchex.testutil.MutableClock;
+import pl.catchex.testutil.ReminderConfigurations;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskReminderServiceTest {
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private MutableClock clock;
+    private ReminderScheduler scheduler;
+    private ReminderHandle handle;
+    private TaskFrequencyService frequencyService;
+    private TaskReminderService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-11-02T08:00:00Z"), ZoneId.of("UTC"));
+        ReminderConfiguration rc = ReminderConfigurations.standard();
+
+        scheduler = mock(ReminderScheduler.class);
+        handle = mock(ReminderHandle.class);
+        when(scheduler.scheduleAtFixedRate(any(), anyLong(), anyLong(), any())).thenReturn(handle);
+        frequencyService = new TaskFrequencyService(clock, rc);
+        service = new TaskReminderService(frequencyService, scheduler, (ReminderDigest) null).start();
+        clearInvocations(scheduler);
+    }
+
+    @Test
+    void startSchedulesUrgencyCheck() {
+        // given
+        TaskReminderService notStarted = new TaskReminderService(frequencyService, scheduler, (ReminderDigest) null);
+        verifyNoInteractions(scheduler);
+
+        // when
+        notStarted.start();
+
+        // then
+        verify(scheduler).scheduleAtFixedRate(any(), eq(1L), eq(1L), eq(TimeUnit.MINUTES));
+    }
+
+    @Test
+    void reminderIsRescheduledWhenTaskEntersUrgentAndCriticalWindow() {
+        // given: medium task (15 min) due in 5 days
+        Task task = new Task.Builder().task("report").priority(Task.Priority.MEDIUM).dueDate(LocalDate.of(2025, 11, 7)).build();
+        service.onTaskAdded(task);
+        verify(scheduler).scheduleAtFixedRate(any(), eq(15L), eq(15L), eq(TimeUnit.MINUTES));
+
+        // when: the same day is checked again and the next day comes (4 days left)
+        service.reevaluateUrgency();
+        clock.addMillis(DAY_MILLIS);
+        service.reevaluateUrgency();
+
+        // then: nothing changed
+        verify(scheduler, times(1)).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+
+        // when: 2 days left
+        clock.addMillis(2 * DAY_MILLIS);
+        service.reevaluateUrgency();
+
+        // then: urgent interval
+        verify(handle, times(1)).cancel();
+        verify(scheduler).scheduleAtFixedRate(any(), eq(8L), eq(8L), eq(TimeUnit.MINUTES));
+
+        // when: due today
+        clock.addMillis(2 * DAY_MILLIS);
+        service.reevaluateUrgency();
+
+        // then: critical interval
+        verify(handle, times(2)).cancel();
+        verify(scheduler).scheduleAtFixedRate(any(), eq(4L), eq(4L), eq(TimeUnit.MINUTES));
+    }
+
+    @Test
+    void removedAndUndatedTasksAreNotRescheduled() {
+        // given
+        Task removed = new Task.Builder().task("removed").dueDate(LocalDate.of(2025, 11, 4)).build();
+        Task undated = new Task.Builder().task("undated").build();
+        service.onTaskAdded(removed);
+        service.onTaskAdded(undated);
+        service.onTaskRemoved(removed);
+        clearInvocations(scheduler, handle);
+
+        // when
+        clock.addMillis(10 * DAY_MILLIS);
+        service.reevaluateUrgency();
+
+        // then
+        verifyNoInteractions(scheduler, handle);
+    }
+
+    @Test
+    void reconfigureReschedulesOnlyRemindersWhoseIntervalChanged() {
+        // given: undated medium task (15 min) and high task (10 min) due today (critical, 3 min)
+        Task undated = new Task.Builder().task("undated").priority(Task.Priority.MEDIUM).build();
+        Task critical = new Task.Builder().task("critical").priority(Task.Priority.HIGH).dueDate(LocalDate.of(2025, 11, 2)).build();
+        service.onTaskAdded(undated);
+        service.onTaskAdded(critical);
+        clearInvocations(scheduler, handle);
+
+        // when: only the critical factor changes
+        ReminderConfiguration rc = ReminderConfigurations.of(0.5, 0.5, 1, 3);
+        service.reconfigure(rc);
+
+        // then
+        verify(handle, times(1)).cancel();
+        verify(scheduler, times(1)).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+        verify(scheduler).scheduleAtFixedRate(any(), eq(5L), eq(5L), eq(TimeUnit.MINUTES));
+    }
+
+    @Test
+    void editedTaskKeepsItsReminderAndOnlyChangesPeriod() {
+        // given: medium task (15 min) without due date
+        Task before = new Task.Builder().task("report").priority(Task.Priority.MEDIUM).build();
+        service.onTaskAdded(before);
+        when(handle.changePeriod(anyLong(), any())).thenReturn(true);
+        clearInvocations(scheduler);
+
+        // when: priority raised to HIGH (10 min)
+        Task after = new Task.Builder().task("report").priority(Task.Priority.HIGH).build();
+        service.onTasksChanged(new TaskDelta(Set.of(), Set.of(), Set.of(new TaskUpdate(before, after))));
+
+        // then
+        verify(handle).changePeriod(10L, TimeUnit.MINUTES);
+        verify(handle, never()).cancel();
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void editedTaskWithSameIntervalIsNotRescheduled() {
+        // given
+        Task before = new Task.Builder().task("report").priority(Task.Priority.MEDIUM).build();
+        service.onTaskAdded(before);
+        clearInvocations(scheduler);
+
+        // when: only the description changes
+        Task after = new Task.Builder().task("report v2").priority(Task.Priority.MEDIUM).build();
+        service.onTaskUpdated(before, after);
+
+        // then
+        verify(handle, never()).changePeriod(anyLong(), any());
+        verify(handle, never()).cancel();
+        verifyNoInteractions(scheduler);
+
+        // when: the edited task is removed
+        service.onTaskRemoved(after);
+
+        // then
+        verify(handle).cancel();
+    }
+
+    @Test
+    void reconfigureWithIntervalBelowOneMinute_changesNothing() {
+        // given: high task (10 min) due today (critical, 3 min)
+        Task critical = new Task.Builder().task("critical").priority(Task.Priority.HIGH).dueDate(LocalDate.of(2025, 11, 2)).build();
+        service.onTaskAdded(critical);
+        clearInvocations(scheduler, handle);
+
+        // when: the critical factor rounds the interval down to 0 minutes
+        ReminderConfiguration rc = ReminderConfigurations.of(0.01, 0.5, 5, 7);
+
+        // then
+        assertThrows(IllegalArgumentException.class, () -> service.reconfigure(rc));
+        verifyNoInteractions(scheduler, handle);
+
+        // when: the task is edited afterwards, the previous configuration is still in effect
+        when(handle.changePeriod(anyLong(), any())).thenReturn(true);
+        Task edited = new Task.Builder().task("critical").priority(Task.Priority.MEDIUM).dueDate(LocalDate.of(2025, 11, 2)).build();
+        service.onTaskUpdated(critical, edited);
+
+        // then: medium (15 min) critical factor 0.25 -> 4 min
+        verify(handle).changePeriod(4L, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void failedPeriodChange_keepsRecordedInterval() {
+        // given: medium task (15 min) without due date
+        Task before = new Task.Builder().task("report").priority(Task.Priority.MEDIUM).build();
+        service.onTaskAdded(before);
+        when(handle.changePeriod(anyLong(), any())).thenThrow(new IllegalStateException("boom")).thenReturn(true);
+        Task after = new Task.Builder().task("report").priority(Task.Priority.HIGH).build();
+
+        // when
+        assertThrows(IllegalStateException.class, () -> service.onTaskUpdated(before, after));
+        service.onTaskUpdated(after, new Task.Builder().task("report!").priority(Task.Priority.HIGH).build());
+
+        // then: the interval was not recorded as 10 min, so the period change is attempted again
+        verify(handle, times(2)).changePeriod(10L, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,180 @@
+package pl.catchex.reminder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pl.catchex.testutil.MutableClock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TimingWheelReminderSchedulerTest {
+    private static final long TICK = 100;
+
+    private MutableClock clock;
+    private ScheduledFuture<?> ticker;
+    private TimingWheelReminderScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        clock = new MutableClock(Instant.ofEpochMilli(1_000_000), ZoneId.of("UTC"));
+        ScheduledExecutorService tickExecutor = mock(ScheduledExecutorService.class);
+        ticker = mock(ScheduledFuture.class);
+        doReturn(ticker).when(tickExecutor).scheduleAtFixedRate(any(Runnable.class), eq(TICK), eq(TICK), eq(TimeUnit.MILLISECONDS));
+        scheduler = new TimingWheelReminderScheduler(tickExecutor, clock, TICK, 8).start();
+    }
+
+    @Test
+    void reminderFiresAfterInitialDelayAndThenPeriodically() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.scheduleAtFixedRate(runs::incrementAndGet, 500, 300, TimeUnit.MILLISECONDS);
+
+        // when / then
+        advanceBy(400);
+        assertEquals(0, runs.get());
+        advanceBy(100);
+        assertEquals(1, runs.get());
+        advanceBy(300);
+        assertEquals(2, runs.get());
+        advanceBy(3000);
+        assertEquals(12, runs.get());
+    }
+
+    @Test
+    void longDelayCascadesThroughLevels() {
+        // given: 8 buckets of 100 ms, so 3 hours need several levels
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.scheduleAtFixedRate(runs::incrementAndGet, 3, 3, TimeUnit.HOURS);
+
+        // when / then
+        advanceBy(TimeUnit.HOURS.toMillis(3) - TICK);
+        assertEquals(0, runs.get());
+        advanceBy(TICK);
+        assertEquals(1, runs.get());
+        advanceBy(TimeUnit.HOURS.toMillis(3));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void remindersOfTheSameTickRunTogetherInOneAdvance() {
+        // given
+        List<String> fired = new ArrayList<>();
+        scheduler.scheduleAtFixedRate(() -> fired.add("a"), 1, 10, TimeUnit.MINUTES);
+        scheduler.scheduleAtFixedRate(() -> fired.add("b"), 1, 10, TimeUnit.MINUTES);
+        scheduler.scheduleAtFixedRate(() -> fired.add("c"), 2, 10, TimeUnit.MINUTES);
+
+        // when: the ticking thread was late and catches up at once
+        clock.addMillis(TimeUnit.MINUTES.toMillis(1));
+        scheduler.advance();
+
+        // then
+        assertEquals(List.of("a", "b"), fired.stream().sorted().toList());
+    }
+
+    @Test
+    void cancelledReminderNeverFires() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        ReminderHandle handle = scheduler.scheduleAtFixedRate(runs::incrementAndGet, 1, 1, TimeUnit.SECONDS);
+        advanceBy(1000);
+
+        // when
+        handle.cancel();
+        handle.cancel();
+        advanceBy(5000);
+
+        // then
+        assertEquals(1, runs.get());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void shutdownCancelsTickerAndReminders() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.scheduleAtFixedRate(runs::incrementAndGet, 1, 1, TimeUnit.SECONDS);
+
+        // when
+        scheduler.shutdown();
+        advanceBy(5000);
+
+        // then
+        verify(ticker).cancel(false);
+        assertEquals(0, runs.get());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void startingTwiceIsRejected() {
+        // when / then
+        assertThrows(IllegalStateException.class, scheduler::start);
+    }
+
+    @Test
+    void failingReminderKeepsItsSchedule() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }, 200, 200, TimeUnit.MILLISECONDS);
+
+        // when
+        advanceBy(1000);
+
+        // then
+        assertEquals(5, runs.get());
+    }
+
+    private void advanceBy(long millis) {
+        for (long elapsed = 0; elapsed < millis; elapsed += TICK) {
+            clock.addMillis(TICK);
+            scheduler.advance();
+        }
+    }
+
+    @Test
+    void changedPeriodKeepsPhaseOfReminder() {
+        // given: runs at 300, 600, ...
+        AtomicInteger runs = new AtomicInteger();
+        ReminderHandle handle = scheduler.scheduleAtFixedRate(runs::incrementAndGet, 300, 300, TimeUnit.MILLISECONDS);
+        advanceBy(300);
+        assertEquals(1, runs.get());
+
+        // when: period changed to 500 ms after the first run
+        advanceBy(100);
+        assertTrue(handle.changePeriod(500, TimeUnit.MILLISECONDS));
+
+        // then: next run 500 ms after the previous one, then every 500 ms
+        advanceBy(300);
+        assertEquals(1, runs.get());
+        advanceBy(100);
+        assertEquals(2, runs.get());
+        advanceBy(500);
+        assertEquals(3, runs.get());
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void cancelledReminderPeriodCannotBeChanged() {
+        // given
+        ReminderHandle handle = scheduler.scheduleAtFixedRate(() -> { }, 300, 300, TimeUnit.MILLISECONDS);
+        handle.cancel();
+
+        // when / then
+        assertFalse(handle.changePeriod(500, TimeUnit.MILLISECONDS));
+        assertEquals(0, scheduler.size());
+    }
+}
@@ -0,0 +1,208 @@
+package pl.catchex.synchonizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.catchex.common.DateParser;
+import pl.catchex.config.reader.taskConfiguration.SymbolConfiguration;
+import pl.catchex.model.Task;
+import pl.catchex.model.TaskDelta;
+import pl.catchex.model.TaskRepository;
+import pl.catchex.model.TaskRepositoryListener;
+import pl.catchex.model.TaskUpdate;
+import pl.catchex.reader.PriorityParser;
+import pl.catchex.reader.TaskReader;
+import pl.catchex.reader.lineparser.TaskLineParserDispatcher;
+import pl.catchex.testutil.TaskParsing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskRepositorySynchronizerFingerprintTest {
+    @TempDir
+    Path tempDir;
+    private Path tasksFile;
+    private TaskReader reader;
+    private TaskRepository repository;
+    private TaskRepositorySynchronizer synchronizer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tasksFile = Files.createFile(tempDir.resolve("tasks.md"));
+        reader = spy(new TaskReader(TaskParsing.dispatcher(), tasksFile));
+        repository = new TaskRepository();
+        synchronizer = new TaskRepositorySynchronizer(reader, repository);
+    }
+
+    @Test
+    void unchangedContent_isShortCircuitedWithoutParsing() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n", StandardCharsets.UTF_8);
+        synchronizer.synchronizeRepository();
+        clearInvocations(reader);
+
+        // when: the file is touched and saved again with identical content
+        Files.setLastModifiedTime(tasksFile, FileTime.from(Instant.now().plusSeconds(60)));
+        synchronizer.onFileModified(tasksFile);
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n", StandardCharsets.UTF_8);
+        synchronizer.onFileModified(tasksFile);
+
+        // then
+        verify(reader, never()).read(any(Consumer.class));
+        assertEquals(2, synchronizer.getShortCircuitedSyncCount());
+        assertTrue(repository.contains(new Task("Buy milk", Task.Priority.HIGH, null)));
+    }
+
+    @Test
+    void changedContent_isSynchronized() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n", StandardCharsets.UTF_8);
+        synchronizer.synchronizeRepository();
+
+        // when: same size, different content
+        Files.writeString(tasksFile, "- [ ] Buy tea! [+++]\n", StandardCharsets.UTF_8);
+        synchronizer.onFileModified(tasksFile);
+
+        // then
+        assertEquals(0, synchronizer.getShortCircuitedSyncCount());
+        assertFalse(repository.contains(new Task("Buy milk", Task.Priority.HIGH, null)));
+        assertTrue(repository.contains(new Task("Buy tea!", Task.Priority.HIGH, null)));
+    }
+
+    @Test
+    void failedRead_doesNotRecordFingerprint() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n", StandardCharsets.UTF_8);
+        doThrow(new IOException("boom")).doCallRealMethod().when(reader).read(any(Consumer.class));
+
+        // when
+        synchronizer.synchronizeRepository();
+        synchronizer.synchronizeRepository();
+
+        // then
+        assertEquals(0, synchronizer.getShortCircuitedSyncCount());
+        assertTrue(repository.contains(new Task("Buy milk", Task.Priority.HIGH, null)));
+    }
+
+    @Test
+    void failedApply_doesNotRecordFingerprint() throws IOException {
+        // given
+        repository = spy(new TaskRepository());
+        synchronizer = new TaskRepositorySynchronizer(reader, repository);
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n", StandardCharsets.UTF_8);
+        doThrow(new IllegalStateException("boom")).doCallRealMethod().when(repository).apply(any(TaskDelta.class));
+
+        // when
+        synchronizer.synchronizeRepository();
+        synchronizer.synchronizeRepository();
+
+        // then
+        assertEquals(0, synchronizer.getShortCircuitedSyncCount());
+        assertTrue(repository.contains(new Task("Buy milk", Task.Priority.HIGH, null)));
+    }
+
+    @Test
+    void unchangedAttributes_reuseRecordedHash() throws IOException {
+        // given: a file last modified well before it was fingerprinted
+        FileTime lastModified = FileTime.from(Instant.now().minusSeconds(3600));
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(tasksFile, lastModified);
+        synchronizer.synchronizeRepository();
+        clearInvocations(reader);
+
+        // when: the content is replaced behind unchanged size and modification time
+        Files.writeString(tasksFile, "- [ ] Buy tea! [+++]\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(tasksFile, lastModified);
+        synchronizer.onFileModified(tasksFile);
+
+        // then: the content is not read again
+        verify(reader, never()).read(any(Collector.class));
+        assertEquals(1, synchronizer.getShortCircuitedSyncCount());
+    }
+
+    @Test
+    void resynchronize_reparsesUnchangedFileWithReplacedParser() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] Buy milk [!!!]\n", StandardCharsets.UTF_8);
+        synchronizer.synchronizeRepository();
+        assertFalse(repository.contains(new Task("Buy milk", Task.Priority.HIGH, null)));
+
+        // when: the priority symbols are reconfigured while the file stays the same
+        SymbolConfiguration symbols = new SymbolConfiguration();
+        symbols.setLow("!");
+        symbols.setMedium("!!");
+        symbols.setHigh("!!!");
+        reader.replaceParser(new TaskLineParserDispatcher(new PriorityParser(symbols), new DateParser(TaskParsing.DATE_FORMAT)));
+        synchronizer.resynchronize();
+
+        // then
+        assertEquals(0, synchronizer.getShortCircuitedSyncCount());
+        assertEquals(1, repository.getAll().size());
+        assertTrue(repository.contains(new Task("Buy milk", Task.Priority.HIGH, null)));
+    }
+
+    @Test
+    void editedLine_isSynchronizedAsUpdate() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] Buy milk [+]\n- [ ] Call mom [++]\n", StandardCharsets.UTF_8);
+        synchronizer.synchronizeRepository();
+        TaskRepositoryListener listener = mock(TaskRepositoryListener.class);
+        repository.addListener(listener);
+
+        // when: the priority of the first line is raised
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n- [ ] Call mom [++]\n", StandardCharsets.UTF_8);
+        synchronizer.onFileModified(tasksFile);
+
+        // then
+        Task before = new Task("Buy milk", Task.Priority.LOW, null);
+        Task after = new Task("Buy milk", Task.Priority.HIGH, null);
+        verify(listener).onTasksChanged(new TaskDelta(Set.of(), Set.of(), Set.of(new TaskUpdate(before, after))));
+        assertTrue(repository.contains(after));
+        assertFalse(repository.contains(before));
+    }
+
+    @Test
+    void deletedDuplicateLine_isSynchronizedAsRecount() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] Buy milk [+]\n- [ ] Buy milk [+]\n- [ ] Call mom [++]\n", StandardCharsets.UTF_8);
+        synchronizer.synchronizeRepository();
+        Task duplicated = new Task("Buy milk", Task.Priority.LOW, null);
+        assertEquals(2, repository.count(duplicated));
+        TaskRepositoryListener listener = mock(TaskRepositoryListener.class);
+        repository.addListener(listener);
+
+        // when: one of the duplicated lines is deleted
+        Files.writeString(tasksFile, "- [ ] Buy milk [+]\n- [ ] Call mom [++]\n", StandardCharsets.UTF_8);
+        synchronizer.onFileModified(tasksFile);
+
+        // then
+        verify(listener).onTasksChanged(new TaskDelta(Set.of(), Set.of(), Set.of(), Map.of(duplicated, 1)));
+        assertEquals(1, repository.count(duplicated));
+    }
+
+    @Test
+    void lostEvents_forceSynchronizationOfUnchangedFile() throws IOException {
+        // given
+        Files.writeString(tasksFile, "- [ ] Buy milk [+++]\n", StandardCharsets.UTF_8);
+        synchronizer.synchronizeRepository();
+        clearInvocations(reader);
+
+        // when
+        synchronizer.onEventsLost(tasksFile);
+
+        // then
+        verify(reader).read(any(Collector.class));
+        assertEquals(0, synchronizer.getShortCircuitedSyncCount());
+    }
+}
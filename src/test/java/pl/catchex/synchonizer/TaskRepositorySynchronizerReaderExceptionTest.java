@@ -8,6 +8,7 @@ import pl.catchex.reader.TaskReader;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.stream.Collector;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -29,7 +30,7 @@ class TaskRepositorySynchronizerReaderExceptionTest {
         Task existing = new Task.Builder().task("existing").priority(Task.Priority.MEDIUM).dueDate(null).build();
         repository.add(existing);
 
-        when(reader.read()).thenThrow(new IOException("io error"));
+        when(reader.read(any(Collector.class))).thenThrow(new IOException("io error"));
 
         // when
         synchronizer.onFileModified(Path.of("dummy"));
@@ -0,0 +1,113 @@
+package pl.catchex.synchonizer;
+
+import org.junit.jupiter.api.Test;
+import pl.catchex.model.Task;
+import pl.catchex.model.TaskRepository;
+import pl.catchex.reader.TaskReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskRepositorySynchronizerSingleFlightTest {
+
+    @Test
+    void requestsDuringSync_collapseIntoOneFollowUpRun() throws IOException {
+        // given
+        TaskReader reader = mock(TaskReader.class);
+        TaskRepository repository = new TaskRepository();
+        TaskRepositorySynchronizer synchronizer = new TaskRepositorySynchronizer(reader, repository);
+        Task item = new Task.Builder().task("task1").build();
+        AtomicInteger reads = new AtomicInteger();
+        when(reader.read(any(Collector.class))).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() == 1) {
+                // three events arrive while the first synchronization is running
+                synchronizer.onFileModified(Path.of("dummy"));
+                synchronizer.onFileModified(Path.of("dummy"));
+                synchronizer.synchronizeRepository();
+            }
+            return Set.of(item);
+        });
+
+        // when
+        synchronizer.onFileModified(Path.of("dummy"));
+
+        // then
+        assertEquals(2, reads.get());
+        assertEquals(3, synchronizer.getCoalescedSyncCount());
+        assertTrue(repository.contains(item));
+    }
+
+    @Test
+    void concurrentCaller_doesNotOverlapRunningSync() throws Exception {
+        // given
+        TaskReader reader = mock(TaskReader.class);
+        TaskRepositorySynchronizer synchronizer = new TaskRepositorySynchronizer(reader, new TaskRepository());
+        CountDownLatch firstReadStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRead = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger reads = new AtomicInteger();
+        when(reader.read(any(Collector.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if (reads.incrementAndGet() == 1) {
+                firstReadStarted.countDown();
+                assertTrue(releaseFirstRead.await(5, TimeUnit.SECONDS));
+            }
+            running.decrementAndGet();
+            return Set.of();
+        });
+        Thread first = Thread.ofVirtual().start(synchronizer::synchronizeRepository);
+        assertTrue(firstReadStarted.await(5, TimeUnit.SECONDS));
+
+        // when: the second caller returns immediately, its request is run by the first thread
+        synchronizer.onFileModified(Path.of("dummy"));
+        releaseFirstRead.countDown();
+        first.join(5000);
+
+        // then
+        assertEquals(2, reads.get());
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void failingSync_doesNotBlockLaterRequests() throws IOException {
+        // given
+        TaskReader reader = mock(TaskReader.class);
+        TaskRepositorySynchronizer synchronizer = new TaskRepositorySynchronizer(reader, new TaskRepository());
+        when(reader.read(any(Collector.class))).thenThrow(new IllegalStateException("boom")).thenReturn(Set.of());
+
+        // when
+        synchronizer.onFileModified(Path.of("dummy"));
+        synchronizer.onFileModified(Path.of("dummy"));
+
+        // then
+        verify(reader, times(2)).read(any(Collector.class));
+    }
+
+    @Test
+    void errorEscapingSync_doesNotBlockLaterRequests() throws IOException {
+        // given
+        TaskReader reader = mock(TaskReader.class);
+        TaskRepository repository = new TaskRepository();
+        TaskRepositorySynchronizer synchronizer = new TaskRepositorySynchronizer(reader, repository);
+        Task item = new Task.Builder().task("task1").build();
+        when(reader.read(any(Collector.class))).thenThrow(new InternalError("truncated mapping")).thenReturn(Set.of(item));
+
+        // when
+        assertThrows(InternalError.class, () -> synchronizer.onFileModified(Path.of("dummy")));
+        synchronizer.onFileModified(Path.of("dummy"));
+
+        // then
+        verify(reader, times(2)).read(any(Collector.class));
+        assertEquals(0, synchronizer.getCoalescedSyncCount());
+        assertTrue(repository.contains(item));
+    }
+}
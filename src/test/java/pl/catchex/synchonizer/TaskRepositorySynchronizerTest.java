@@ -9,7 +9,8 @@ import pl.catchex.reader.TaskReader;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Set;
+import java.util.stream.Collector;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,7 +31,7 @@ class TaskRepositorySynchronizerTest {
     void noChanges_doesNotModifyRepository() throws IOException {
         // given
         Task item = new Task.Builder().task("task1").priority(Task.Priority.MEDIUM).dueDate(LocalDate.now()).build();
-        when(reader.read()).thenReturn(List.of(item));
+        when(reader.read(any(Collector.class))).thenReturn(Set.of(item));
         repository.add(item);
 
         // when
@@ -44,7 +45,7 @@ class TaskRepositorySynchronizerTest {
     void addOnly_addsItemToRepository() throws IOException {
         // given
         Task item = new Task.Builder().task("task2").priority(Task.Priority.HIGH).dueDate(null).build();
-        when(reader.read()).thenReturn(List.of(item));
+        when(reader.read(any(Collector.class))).thenReturn(Set.of(item));
 
         // when
         synchronizer.onFileModified(Path.of("dummy"));
@@ -57,7 +58,7 @@ class TaskRepositorySynchronizerTest {
     void removeOnly_removesItemFromRepository() throws IOException {
         // given
         Task item = new Task.Builder().task("task3").priority(Task.Priority.LOW).dueDate(null).build();
-        when(reader.read()).thenReturn(List.of());
+        when(reader.read(any(Collector.class))).thenReturn(Set.of());
         repository.add(item);
 
         // when
@@ -73,7 +74,7 @@ class TaskRepositorySynchronizerTest {
         Task existing = new Task.Builder().task("existing").priority(Task.Priority.MEDIUM).dueDate(null).build();
         Task newItem = new Task.Builder().task("new").priority(Task.Priority.MEDIUM).dueDate(null).build();
         repository.add(existing);
-        when(reader.read()).thenReturn(List.of(newItem));
+        when(reader.read(any(Collector.class))).thenReturn(Set.of(newItem));
 
         // when
         synchronizer.onFileModified(Path.of("dummy"));
@@ -88,7 +89,7 @@ class TaskRepositorySynchronizerTest {
         // given
         Task existing = new Task.Builder().task("existing-io").priority(Task.Priority.MEDIUM).dueDate(null).build();
         repository.add(existing);
-        when(reader.read()).thenThrow(new IOException("read error"));
+        when(reader.read(any(Collector.class))).thenThrow(new IOException("read error"));
 
         // when
         synchronizer.onFileModified(Path.of("dummy"));
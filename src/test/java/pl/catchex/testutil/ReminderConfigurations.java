@@ -0,0 +1,36 @@
+package pl.catchex.testutil;
+
+import pl.catchex.config.reader.reminder.PeriodFactorConfiguration;
+import pl.catchex.config.reader.reminder.PeriodThresholdConfiguration;
+import pl.catchex.config.reader.reminder.ReminderConfiguration;
+
+/**
+ * Reminder configurations for tests. Base intervals and digest keep their defaults.
+ */
+public final class ReminderConfigurations {
+
+    private ReminderConfigurations() {
+    }
+
+    /**
+     * Critical factor 0.25 below 1 day, urgent factor 0.5 below 3 days.
+     */
+    public static ReminderConfiguration standard() {
+        return of(0.25, 0.5, 1, 3);
+    }
+
+    public static ReminderConfiguration of(double criticalFactor, double urgentFactor, int criticalThreshold, int urgentThreshold) {
+        PeriodFactorConfiguration pf = new PeriodFactorConfiguration();
+        pf.setCritical(criticalFactor);
+        pf.setUrgent(urgentFactor);
+
+        PeriodThresholdConfiguration pt = new PeriodThresholdConfiguration();
+        pt.setCritical(criticalThreshold);
+        pt.setUrgent(urgentThreshold);
+
+        ReminderConfiguration rc = new ReminderConfiguration();
+        rc.setPeriodFactor(pf);
+        rc.setPeriodThreshold(pt);
+        return rc;
+    }
+}
@@ -0,0 +1,29 @@
+package pl.catchex.testutil;
+
+import pl.catchex.common.DateParser;
+import pl.catchex.config.reader.taskConfiguration.SymbolConfiguration;
+import pl.catchex.reader.PriorityParser;
+import pl.catchex.reader.lineparser.TaskLineParserDispatcher;
+
+/**
+ * Task line parsing setup shared by tests: priorities {@code +}, {@code ++}, {@code +++}
+ * and due dates in {@value #DATE_FORMAT} format.
+ */
+public final class TaskParsing {
+    public static final String DATE_FORMAT = "dd/MM/yyyy";
+
+    private TaskParsing() {
+    }
+
+    public static SymbolConfiguration symbols() {
+        SymbolConfiguration symbols = new SymbolConfiguration();
+        symbols.setLow("+");
+        symbols.setMedium("++");
+        symbols.setHigh("+++");
+        return symbols;
+    }
+
+    public static TaskLineParserDispatcher dispatcher() {
+        return new TaskLineParserDispatcher(new PriorityParser(symbols()), new DateParser(DATE_FORMAT));
+    }
+}
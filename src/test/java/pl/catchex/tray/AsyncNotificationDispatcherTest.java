@@ -0,0 +1,126 @@
+package pl.catchex.tray;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.TrayIcon;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncNotificationDispatcherTest {
+
+    @Test
+    void send_returnsImmediatelyWhileSenderIsBlocked() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        NotificationSender slow = (title, message, type) -> {
+            await(release);
+            sent.add(message);
+        };
+
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(slow, 8, 5000)) {
+            // when
+            long start = System.nanoTime();
+            dispatcher.send("t", "first", TrayIcon.MessageType.INFO);
+            dispatcher.send("t", "second", TrayIcon.MessageType.INFO);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            release.countDown();
+
+            // then
+            assertTrue(elapsedMs < 1000);
+            waitUntil(() -> dispatcher.getDeliveredCount() == 2);
+            assertEquals(List.of("first", "second"), sent);
+        }
+    }
+
+    @Test
+    void hungSender_isAbandonedAfterTimeout() throws Exception {
+        // given
+        CountDownLatch never = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        NotificationSender sometimesHung = (title, message, type) -> {
+            if (message.equals("hang")) {
+                // only an interrupt ends the wait
+                await(never);
+                return;
+            }
+            sent.add(message);
+        };
+
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(sometimesHung, 8, 50)) {
+            // when
+            dispatcher.send("t", "hang", TrayIcon.MessageType.INFO);
+            dispatcher.send("t", "next", TrayIcon.MessageType.INFO);
+
+            // then
+            waitUntil(() -> dispatcher.getDeliveredCount() == 1);
+            assertEquals(1, dispatcher.getTimedOutCount());
+            assertEquals(List.of("next"), sent);
+        }
+    }
+
+    @Test
+    void fullQueue_dropsAndCountsNotifications() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationSender blocked = (title, message, type) -> {
+            started.countDown();
+            await(release);
+        };
+
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(blocked, 1, 5000)) {
+            dispatcher.send("t", "in flight", TrayIcon.MessageType.INFO);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // when
+            dispatcher.send("t", "queued", TrayIcon.MessageType.INFO);
+            dispatcher.send("t", "dropped", TrayIcon.MessageType.INFO);
+            release.countDown();
+
+            // then
+            waitUntil(() -> dispatcher.getDeliveredCount() == 2);
+            assertEquals(1, dispatcher.getDroppedCount());
+        }
+    }
+
+    @Test
+    void failingSender_isCountedAndDoesNotStopDispatching() throws Exception {
+        // given
+        NotificationSender failing = (title, message, type) -> {
+            if (message.equals("boom")) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(failing, 8, 5000)) {
+            // when
+            dispatcher.send("t", "boom", TrayIcon.MessageType.INFO);
+            dispatcher.send("t", "fine", TrayIcon.MessageType.INFO);
+
+            // then
+            waitUntil(() -> dispatcher.getDeliveredCount() == 1);
+            assertEquals(1, dispatcher.getFailedCount());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}